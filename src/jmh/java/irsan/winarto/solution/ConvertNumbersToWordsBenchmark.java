@@ -0,0 +1,334 @@
+package irsan.winarto.solution;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Benchmarks every conversion path over the same input shapes. Each
+ * invocation converts the next amount of a fixed pseudo-random sample, so
+ * the branch predictors see a realistic mix rather than one repeated input.
+ *
+ * A new fast path is benchmarked by adding one @Benchmark method converting
+ * numbers[next()] (or one of the other pre-computed forms) below.
+ *
+ * @author Irsan Winarto
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ConvertNumbersToWordsBenchmark {
+    // must be a power of two
+    private final static int SAMPLE_SIZE = 1024;
+    // the sample repeats amounts like payroll runs do
+    private final static int DISTINCT_AMOUNTS = 128;
+
+    public enum Shape {
+        // amounts below 10000 with cents
+        SMALL,
+        // amounts with a 64-digit integer part
+        VIGINTILLION,
+        // amounts with 20 to 60 fractional digits, e.g. 0.000000000000000000000
+        LONG_FRACTION,
+        // number-strings rejected with an IllegalArgumentException
+        INVALID
+    }
+
+    @Param
+    public Shape shape;
+
+    private String[] numbers;
+    // the amounts in cents, or -1 if they do not fit in a long or are invalid,
+    // in which case convertAmountInCents measures the rejection
+    private long[] amountsInCents;
+    // the amounts as BigDecimal, or null if they are invalid
+    private BigDecimal[] decimals;
+    // the translations of the amounts, or the number-strings themselves if
+    // they are invalid, in which case parseWords measures the rejection
+    private String[] words;
+    // the number-strings in ASCII, for the byte[] and ByteBuffer paths
+    private byte[][] numberBytes;
+    // the number-strings grouped the way LenientParser reads them, e.g.
+    // "$1,234.56", or the invalid number-strings as they are
+    private String[] groupedNumbers;
+    // the number-strings with a leading minus sign, e.g. "-1234.56"
+    private String[] negativeNumbers;
+
+    private String[] results;
+    private String[] errors;
+    private StringBuilder out;
+    private byte[] outBytes;
+    private ByteBuffer outBuffer;
+    private ConversionCache cache;
+    private LenientParser lenient;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        String[] distinct = new String[DISTINCT_AMOUNTS];
+        for (int i = 0; i < DISTINCT_AMOUNTS; ++i)
+            distinct[i] = generate(random);
+
+        numbers = new String[SAMPLE_SIZE];
+        amountsInCents = new long[SAMPLE_SIZE];
+        decimals = new BigDecimal[SAMPLE_SIZE];
+        words = new String[SAMPLE_SIZE];
+        numberBytes = new byte[SAMPLE_SIZE][];
+        groupedNumbers = new String[SAMPLE_SIZE];
+        negativeNumbers = new String[SAMPLE_SIZE];
+
+        for (int i = 0; i < SAMPLE_SIZE; ++i) {
+            numbers[i] = distinct[random.nextInt(DISTINCT_AMOUNTS)];
+            numberBytes[i] = numbers[i].getBytes(StandardCharsets.ISO_8859_1);
+            negativeNumbers[i] = "-" + numbers[i];
+
+            if (shape == Shape.INVALID) {
+                amountsInCents[i] = -1;
+                decimals[i] = null;
+                words[i] = numbers[i];
+                groupedNumbers[i] = numbers[i];
+                continue;
+            }
+
+            groupedNumbers[i] = group(numbers[i]);
+
+            decimals[i] = new BigDecimal(numbers[i]);
+            words[i] = ConvertNumbersToWords.convertNumbersToWords(numbers[i]);
+
+            BigInteger cents = decimals[i].movePointRight(2).setScale(0, RoundingMode.HALF_UP).toBigInteger();
+            amountsInCents[i] = cents.bitLength() < Long.SIZE ? cents.longValue() : -1;
+        }
+
+        results = new String[SAMPLE_SIZE];
+        errors = new String[SAMPLE_SIZE];
+        out = new StringBuilder(1024);
+        // far longer than the translation of any 64-digit amount
+        outBytes = new byte[1 << 12];
+        outBuffer = ByteBuffer.allocateDirect(1 << 12);
+        cache = new ConversionCache(DISTINCT_AMOUNTS * 2);
+        lenient = new LenientParser('.', ",", "$");
+        index = 0;
+    }
+
+    private String generate(Random random) {
+        switch (shape) {
+            case SMALL:
+                return random.nextInt(10000) + "." + digits(random, 2);
+            case VIGINTILLION:
+                // with 0 to 3 fractional digits, but never a trailing '.'
+                int fractionLength = random.nextInt(4);
+                return (1 + random.nextInt(9)) + digits(random, 63) +
+                       (fractionLength == 0 ? "" : "." + digits(random, fractionLength));
+            case LONG_FRACTION:
+                return random.nextInt(1000) + "." + digits(random, 20 + random.nextInt(41));
+            default:
+                String[] invalid = { "", ".25", "125.", "0125", "12e5", "1..25", "$125.40" };
+                return invalid[random.nextInt(invalid.length)];
+        }
+    }
+
+    /**
+     * @return "$" and numberString with a ',' between the triples of its
+     *         integer part, e.g. "$1,234.56" for "1234.56"
+     */
+    private static String group(String numberString) {
+        int dotIndex = numberString.indexOf('.');
+        int integerEnd = dotIndex < 0 ? numberString.length() : dotIndex;
+        StringBuilder result = new StringBuilder("$");
+
+        for (int i = 0; i < integerEnd; ++i) {
+            if (i > 0 && (integerEnd - i) % 3 == 0)
+                result.append(',');
+
+            result.append(numberString.charAt(i));
+        }
+
+        return result.append(numberString, integerEnd, numberString.length()).toString();
+    }
+
+    private static String digits(Random random, int count) {
+        StringBuilder result = new StringBuilder(count);
+
+        for (int i = 0; i < count; ++i)
+            result.append((char) ('0' + random.nextInt(10)));
+
+        return result.toString();
+    }
+
+    private int next() {
+        return index = (index + 1) & (SAMPLE_SIZE - 1);
+    }
+
+    @Benchmark
+    public Object convertString() {
+        try {
+            return ConvertNumbersToWords.convertNumbersToWords(numbers[next()]);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object appendToStringBuilder() {
+        out.setLength(0);
+
+        try {
+            ConvertNumbersToWords.convertNumbersToWords(numbers[next()], out);
+            return out;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object tryConvert() {
+        out.setLength(0);
+
+        if (ConvertNumbersToWords.tryConvertNumbersToWords(numbers[next()], out) != null)
+            return null;
+
+        return out;
+    }
+
+    @Benchmark
+    public Object convertBytes() {
+        byte[] in = numberBytes[next()];
+
+        try {
+            return ConvertNumbersToWords.convertNumbersToWords(in, 0, in.length, outBytes, 0);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object convertByteBuffer() {
+        outBuffer.clear();
+
+        try {
+            return ConvertNumbersToWords.convertNumbersToWords(ByteBuffer.wrap(numberBytes[next()]), outBuffer);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object wordLength() {
+        try {
+            return ConvertNumbersToWords.wordLength(numbers[next()]);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object convertInLanguage() {
+        out.setLength(0);
+
+        try {
+            ConvertNumbersToWords.convertNumbersToWords(numbers[next()], EnglishLanguage.AMERICAN, out);
+            return out;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object convertInCurrency() {
+        out.setLength(0);
+
+        try {
+            ConvertNumbersToWords.convertNumbersToWords(numbers[next()], GermanLanguage.INSTANCE, Currency.KWD, out);
+            return out;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object convertLenient() {
+        out.setLength(0);
+
+        try {
+            lenient.convertNumbersToWords(groupedNumbers[next()], out);
+            return out;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object convertSigned() {
+        out.setLength(0);
+
+        try {
+            ConvertNumbersToWords.convertSignedNumbersToWords(negativeNumbers[next()], NegativeWording.MINUS, out);
+            return out;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    // with VIGINTILLION amounts, which do not fit in a long, this measures
+    // only the rejection of a negative amount
+    @Benchmark
+    public Object convertAmountInCents() {
+        try {
+            return ConvertNumbersToWords.convertNumbersToWords(amountsInCents[next()]);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object convertBigDecimal() {
+        try {
+            return ConvertNumbersToWords.convertNumbersToWords(decimals[next()]);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object convertCached() {
+        try {
+            return cache.convertNumbersToWords(numbers[next()]);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object parseWords() {
+        out.setLength(0);
+
+        if (WordsParser.AUSTRALIAN.tryParseWords(words[next()], out) >= 0)
+            return null;
+
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public int convertAll() {
+        return ConvertNumbersToWords.convertAll(numbers, results, errors);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public int convertAllParallel() {
+        return ConvertNumbersToWords.convertAllParallel(numbers, results, errors);
+    }
+}
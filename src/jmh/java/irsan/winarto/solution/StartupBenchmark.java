@@ -0,0 +1,63 @@
+package irsan.winarto.solution;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Benchmarks the cold start of a new JVM, as a command line or serverless
+ * job sees it: the time to the first translation, which loads the classes
+ * and the word tables, and to the first 10000 translations, most of which
+ * run before the JIT compiler has caught up. Every fork measures one shot,
+ * so the score is over the forks; precompiled=false compiles the word tables
+ * at runtime as if the build had not written them.
+ *
+ * Run on its own with
+ *
+ *      mvn -P benchmark verify -Djmh.args="StartupBenchmark"
+ *
+ * @author Irsan Winarto
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    private final static int CONVERSION_COUNT = 10000;
+
+    @Param({ "true", "false" })
+    public boolean precompiled;
+
+    private String[] numbers;
+
+    @Setup
+    public void setUp() {
+        // before ConvertNumbersToWords is first used
+        System.setProperty("irsan.winarto.precompiled", String.valueOf(precompiled));
+
+        Random random = new Random(42);
+
+        numbers = new String[CONVERSION_COUNT];
+        for (int i = 0; i < CONVERSION_COUNT; ++i)
+            numbers[i] = random.nextInt(1000000) + "." + (10 + random.nextInt(90));
+    }
+
+    @Benchmark
+    public String firstConversion() {
+        return ConvertNumbersToWords.convertNumbersToWords(numbers[0]);
+    }
+
+    @Benchmark
+    public int first10000Conversions() {
+        int length = 0;
+
+        for (String number : numbers)
+            length += ConvertNumbersToWords.convertNumbersToWords(number).length();
+
+        return length;
+    }
+}
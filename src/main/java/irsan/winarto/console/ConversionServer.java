@@ -0,0 +1,239 @@
+package irsan.winarto.console;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import irsan.winarto.solution.*;
+
+
+/**
+ * Serves translations to other processes on the loopback interface, so that
+ * they share one warmed-up instance of the library. Two endpoints are served:
+ *
+ *      1. HTTP: "GET /convert?amount=9011.5" answers the translation, or
+ *         "Error: ..." with status 400; "POST /convert" answers one line per
+ *         line of its body as the line protocol does; "GET /metrics" answers
+ *         the ConversionMetrics snapshot as "name value" lines
+ *      2. a line protocol over TCP: every line sent is answered with one line
+ *         holding its translation or "Error: ...", in order. Requests may be
+ *         pipelined; the answers are flushed whenever no more requests are
+ *         waiting to be read
+ *
+ * Every connection is handled on its own thread: a virtual thread when the
+ * Java runtime has them, otherwise a pooled platform thread.
+ *
+ * @author Irsan Winarto
+ */
+class ConversionServer implements Closeable {
+    private final ExecutorService executor = newThreadPerTaskExecutor();
+    private final HttpServer httpServer;
+    private final ServerSocket lineServer;
+
+    /**
+     * Binds both endpoints to the loopback interface without serving yet.
+     *
+     * @param httpPort is the port of the HTTP endpoint, or 0 for any free one
+     * @param linePort is the port of the line protocol, or 0 for any free one
+     *
+     * @throws IOException if a port cannot be bound
+     */
+    ConversionServer(int httpPort, int linePort) throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+
+        httpServer = HttpServer.create(new InetSocketAddress(loopback, httpPort), 0);
+        httpServer.createContext("/convert", this::handleConvert);
+        httpServer.createContext("/metrics", this::handleMetrics);
+        httpServer.setExecutor(executor);
+
+        try {
+            lineServer = new ServerSocket(linePort, 0, loopback);
+        } catch (IOException e) {
+            httpServer.stop(0);
+            throw e;
+        }
+    }
+
+    void start() {
+        httpServer.start();
+        executor.execute(this::acceptLineConnections);
+    }
+
+    int getHttpPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    int getLinePort() {
+        return lineServer.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpServer.stop(0);
+        lineServer.close();
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return an executor starting a virtual thread per task if the runtime
+     *         has them (Java 21 onwards), or else a cached thread pool
+     */
+    private static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "conversion-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void acceptLineConnections() {
+        while (!lineServer.isClosed()) {
+            Socket socket;
+
+            try {
+                socket = lineServer.accept();
+            } catch (IOException e) {
+                // the server has been closed
+                return;
+            }
+
+            executor.execute(() -> {
+                try (Socket connection = socket) {
+                    connection.setTcpNoDelay(true);
+                    convertLines(connection.getInputStream(), connection.getOutputStream());
+                } catch (SocketException e) {
+                    // the client has gone away
+                } catch (IOException e) {
+                    System.err.println("Error: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Answers every line of in with a line of out until the end of in, as
+     * LineConverter does for the console.
+     */
+    static void convertLines(InputStream in, OutputStream out) throws IOException {
+        new LineConverter(LineConverter.Format.PLAIN, out).convertAll(in, (byte) '\n');
+    }
+
+    /**
+     * Appends the translation of numberString, or "Error: " and the reason
+     * it is invalid, to out.
+     *
+     * @return true if numberString is valid
+     */
+    private static boolean translate(CharSequence numberString, StringBuilder out) {
+        ConversionError error = ConvertNumbersToWords.tryConvertNumbersToWords(numberString, out);
+
+        if (error == null)
+            return true;
+
+        error.appendMessage(numberString, ConvertNumbersToWords.getLastErrorPosition(), out.append("Error: "));
+
+        return false;
+    }
+
+    private void handleConvert(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+
+            if (method.equals("POST")) {
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+                // the answer is streamed as it is converted
+                exchange.sendResponseHeaders(200, 0);
+                convertLines(exchange.getRequestBody(), exchange.getResponseBody());
+                return;
+            }
+
+            if (!method.equals("GET")) {
+                respond(exchange, 405, "Error: only GET and POST are allowed\n");
+                return;
+            }
+
+            String amount = getQueryParameter(exchange.getRequestURI().getRawQuery(), "amount");
+
+            if (amount == null) {
+                respond(exchange, 400, "Error: the amount parameter is missing\n");
+                return;
+            }
+
+            StringBuilder answer = new StringBuilder();
+            boolean isValid = translate(amount, answer);
+
+            respond(exchange, isValid ? 200 : 400, answer.append('\n').toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            ConversionMetrics.Snapshot snapshot = ConversionMetrics.snapshot();
+            StringBuilder answer = new StringBuilder();
+
+            answer.append("enabled ").append(ConversionMetrics.ENABLED).append('\n');
+            answer.append("calls ").append(snapshot.getCalls()).append('\n');
+            answer.append("failures ").append(snapshot.getFailures()).append('\n');
+
+            for (Map.Entry<String, Long> entry : snapshot.getFailuresByReason().entrySet())
+                answer.append("failures.").append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+
+            for (Map.Entry<String, Long> entry : snapshot.getInputLengthDistribution().entrySet())
+                answer.append("length.").append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+
+            answer.append("latency.count ").append(snapshot.getLatencyCount()).append('\n');
+            answer.append("latency.p50.nanos ").append(snapshot.getLatencyNanosAtPercentile(50)).append('\n');
+            answer.append("latency.p99.nanos ").append(snapshot.getLatencyNanosAtPercentile(99)).append('\n');
+            answer.append("latency.p999.nanos ").append(snapshot.getLatencyNanosAtPercentile(99.9)).append('\n');
+            answer.append("latency.max.nanos ").append(snapshot.getLatencyNanosAtPercentile(100)).append('\n');
+
+            respond(exchange, 200, answer.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    /**
+     * @return the decoded value of the first parameter called name in the
+     *         raw query, or null if there is none
+     */
+    private static String getQueryParameter(String rawQuery, String name) {
+        if (rawQuery == null)
+            return null;
+
+        for (String parameter : rawQuery.split("&")) {
+            int equalsIndex = parameter.indexOf('=');
+
+            if (equalsIndex == name.length() && parameter.startsWith(name))
+                return URLDecoder.decode(parameter.substring(equalsIndex + 1), StandardCharsets.UTF_8);
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,294 @@
+package irsan.winarto.console;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import irsan.winarto.solution.*;
+
+
+/**
+ * Appends the translation of one amount column of a CSV file as a new last
+ * column, e.g. with column 1, the row
+ *
+ *      INV-7,9011.5,PAID
+ *
+ * becomes
+ *
+ *      INV-7,9011.5,PAID,"NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS"
+ *
+ * The input is memory-mapped and split into chunks on line boundaries, which
+ * are converted in parallel straight from the mapped bytes and written in
+ * order. An invalid amount gives an "Error: ..." cell instead of stopping the
+ * file. Fields may be quoted with '"'; the line endings of the input are
+ * kept.
+ *
+ * @author Irsan Winarto
+ */
+class CsvColumnConverter {
+    // the name of the new column when the file has a header row
+    private final static byte[] HEADER = "\"WORDS\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final int column;
+    private final boolean hasHeader;
+    private final int chunkSize;
+    private final int parallelism;
+
+    /**
+     * @param column is the zero-based index of the amount column
+     * @param hasHeader is true if the first row holds column names
+     * @param chunkSize is the preferred number of bytes per chunk
+     * @param parallelism is the number of chunks converted at once
+     *
+     * @throws IllegalArgumentException if any number is out of range
+     */
+    CsvColumnConverter(int column, boolean hasHeader, int chunkSize, int parallelism) {
+        if (column < 0)
+            throw new IllegalArgumentException("column must not be negative");
+
+        if (chunkSize <= 0 || parallelism <= 0)
+            throw new IllegalArgumentException("chunkSize and parallelism must be positive");
+
+        this.column = column;
+        this.hasHeader = hasHeader;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the number of rows written to out
+     *
+     * @throws IOException if reading in or writing out fails
+     */
+    long convert(FileChannel in, WritableByteChannel out) throws IOException {
+        final long SIZE = in.size();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        // at most two chunks per thread are mapped or buffered at a time
+        Deque<Future<Chunk>> pending = new ArrayDeque<>();
+
+        long rowCount = 0;
+
+        try {
+            long start = 0;
+            boolean isFirstChunk = true;
+
+            while (start < SIZE) {
+                MappedByteBuffer mapped = mapWholeLines(in, start, SIZE);
+                final boolean IS_HEADER_CHUNK = isFirstChunk && hasHeader;
+
+                pending.addLast(executor.submit(() -> convertChunk(mapped, IS_HEADER_CHUNK)));
+
+                start += mapped.limit();
+                isFirstChunk = false;
+
+                if (pending.size() >= 2 * parallelism)
+                    rowCount += writeChunk(pending.removeFirst(), out);
+            }
+
+            while (!pending.isEmpty())
+                rowCount += writeChunk(pending.removeFirst(), out);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return rowCount;
+    }
+
+    /**
+     * Maps the longest run of whole lines from start that fits in chunkSize,
+     * or a single line if it is longer than chunkSize.
+     */
+    private MappedByteBuffer mapWholeLines(FileChannel in, long start, long size) throws IOException {
+        long length = Math.min(chunkSize, size - start);
+
+        while (true) {
+            MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, start, length);
+
+            // the last chunk may end without a newline
+            if (start + length == size)
+                return mapped;
+
+            for (int i = (int) length - 1; i >= 0; --i) {
+                if (mapped.get(i) == '\n') {
+                    mapped.limit(i + 1);
+                    return mapped;
+                }
+            }
+
+            if (length == Integer.MAX_VALUE)
+                throw new IOException("a line must not be longer than " + Integer.MAX_VALUE + " bytes");
+
+            // a single line is longer than the chunk
+            length = Math.min(Math.min(2 * length, Integer.MAX_VALUE), size - start);
+        }
+    }
+
+    private static long writeChunk(Future<Chunk> future, WritableByteChannel out) throws IOException {
+        Chunk chunk;
+
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while converting", e);
+        } catch (ExecutionException e) {
+            throw new IOException("failed to convert a chunk", e.getCause());
+        }
+
+        ByteBuffer buffer = chunk.out;
+        buffer.flip();
+
+        while (buffer.hasRemaining())
+            out.write(buffer);
+
+        return chunk.rowCount;
+    }
+
+    /**
+     * Converts every line of in, which holds whole lines only.
+     */
+    private Chunk convertChunk(ByteBuffer in, boolean isHeaderChunk) {
+        final int LIMIT = in.limit();
+
+        Chunk chunk = new Chunk(LIMIT + LIMIT / 2);
+        AsciiSequence amount = new AsciiSequence();
+        StringBuilder words = new StringBuilder();
+
+        int lineStart = 0;
+
+        while (lineStart < LIMIT) {
+            int lineEnd = lineStart;
+            while (lineEnd < LIMIT && in.get(lineEnd) != '\n')
+                ++lineEnd;
+
+            // the row without its line ending, which is copied as it is
+            int rowEnd = lineEnd > lineStart && in.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            int nextLineStart = Math.min(lineEnd + 1, LIMIT);
+
+            chunk.put(in, lineStart, rowEnd);
+            chunk.put((byte) ',');
+
+            if (isHeaderChunk && lineStart == 0) {
+                chunk.put(HEADER);
+            } else {
+                words.setLength(0);
+                findField(in, lineStart, rowEnd, amount);
+
+                ConversionError error = ConvertNumbersToWords.tryConvertNumbersToWords(amount, words);
+
+                if (error != null)
+                    error.appendMessage(amount, ConvertNumbersToWords.getLastErrorPosition(), words.append("Error: "));
+
+                chunk.putQuoted(words);
+            }
+
+            chunk.put(in, rowEnd, nextLineStart);
+            ++chunk.rowCount;
+
+            lineStart = nextLineStart;
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Points amount at the column-th field of the row in [from, to) without
+     * its surrounding quotes, or at an empty range if the row is too short.
+     */
+    private void findField(ByteBuffer in, int from, int to, AsciiSequence amount) {
+        int field = 0;
+        int fieldStart = from;
+        boolean isQuoted = false;
+
+        for (int i = from; i <= to; ++i) {
+            byte b = i < to ? in.get(i) : (byte) ',';
+
+            if (b == '"') {
+                isQuoted = !isQuoted;
+            } else if (b == ',' && !isQuoted) {
+                if (field == column) {
+                    if (i - fieldStart >= 2 && in.get(fieldStart) == '"' && in.get(i - 1) == '"')
+                        amount.wrap(in, fieldStart + 1, i - 1);
+                    else
+                        amount.wrap(in, fieldStart, i);
+                    return;
+                }
+
+                ++field;
+                fieldStart = i + 1;
+            }
+        }
+
+        amount.wrap(in, from, from);
+    }
+
+    /**
+     * The converted rows of one chunk in a growable heap buffer.
+     */
+    private static final class Chunk {
+        private ByteBuffer out;
+        private long rowCount;
+
+        private Chunk(int capacity) {
+            out = ByteBuffer.allocate(Math.max(capacity, 64));
+        }
+
+        private void ensureRemaining(int length) {
+            if (out.remaining() >= length)
+                return;
+
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * out.capacity(), out.position() + length));
+            out.flip();
+            larger.put(out);
+            out = larger;
+        }
+
+        private void put(byte b) {
+            ensureRemaining(1);
+            out.put(b);
+        }
+
+        private void put(byte[] bytes) {
+            ensureRemaining(bytes.length);
+            out.put(bytes);
+        }
+
+        private void put(ByteBuffer in, int from, int to) {
+            ensureRemaining(to - from);
+
+            for (int i = from; i < to; ++i)
+                out.put(in.get(i));
+        }
+
+        /**
+         * Puts text as a quoted CSV field, doubling any '"' and writing any
+         * character outside ASCII as '?'.
+         */
+        private void putQuoted(CharSequence text) {
+            final int LENGTH = text.length();
+
+            ensureRemaining(2 * LENGTH + 2);
+            out.put((byte) '"');
+
+            for (int i = 0; i < LENGTH; ++i) {
+                char c = text.charAt(i);
+
+                if (c == '"')
+                    out.put((byte) '"');
+
+                out.put(c < 0x80 ? (byte) c : (byte) '?');
+            }
+
+            out.put((byte) '"');
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package irsan.winarto.console;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import irsan.winarto.solution.*;
+
+
+/**
+ * Translates number-strings into one record each, in constant memory and
+ * without stopping at an invalid number-string, which gives an "Error: "
+ * record instead. It serves every console mode reading many number-strings:
+ * the lines of "--in" or stdin, the arguments and stdin of batch mode and
+ * the lines of a ConversionServer connection.
+ *
+ * Records are read from and written to NIO channels through large direct
+ * buffers, so that a file is streamed with few system calls; the streams of
+ * a connection are adapted to channels.
+ *
+ * Input and output are UTF-8, so a number-string with an invalid non-ASCII
+ * character is reported with that character whichever way it came in;
+ * translations themselves are ASCII. Malformed input bytes are read as
+ * U+FFFD.
+ *
+ * A record is formatted as one of:
+ *
+ *      1. PLAIN: the translation or "Error: ..." on its own line
+ *      2. TSV: the number-string, a tab and the translation or "Error: ...",
+ *         with every backslash, tab, newline and carriage return in either
+ *         escaped with a backslash as in C
+ *      3. JSON: a JSON object per line, {"input":"...","words":"..."} or
+ *         {"input":"...","error":"..."}
+ *
+ * @author Irsan Winarto
+ */
+class LineConverter {
+    enum Format {
+        PLAIN, TSV, JSON
+    }
+
+    // large enough that a read or write moves many records at once
+    final static int BUFFER_SIZE = 1 << 18;
+
+    // the longest input record kept, in bytes: far more than a 64-digit
+    // integer part with a long fractional part, yet a bound on the memory a
+    // line without a separator can take
+    final static int MAX_RECORD_LENGTH = 1 << 12;
+
+    private final static char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Format format;
+    private final WritableByteChannel out;
+    // the stream out writes to, if any, which buffers on its own
+    private final Flushable outStream;
+
+    private final ByteBuffer inBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer outBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    // the bytes of the current input record, decoded once it is complete
+    // since a character may be split between two reads; the bytes after the
+    // first MAX_RECORD_LENGTH are dropped
+    private byte[] recordBytes = new byte[256];
+    private int recordLength;
+    private boolean isRecordAscii = true;
+    private boolean isRecordTooLong;
+
+    // the current number-string, its translation and its formatted record,
+    // reused for every record
+    private final StringBuilder record = new StringBuilder();
+    private final StringBuilder words = new StringBuilder();
+    private final StringBuilder formatted = new StringBuilder();
+
+    /**
+     * @param format is the format of the records written
+     * @param out is where the records are written, through a buffer of this
+     *        converter
+     *
+     * @require format != null && out != null
+     */
+    LineConverter(Format format, WritableByteChannel out) {
+        this(format, out, null);
+    }
+
+    /**
+     * The same as LineConverter(Format, WritableByteChannel), but writing to
+     * a stream, which is flushed whenever the records are.
+     *
+     * @require format != null && out != null
+     */
+    LineConverter(Format format, OutputStream out) {
+        this(format, out == null ? null : Channels.newChannel(out), out);
+    }
+
+    private LineConverter(Format format, WritableByteChannel out, Flushable outStream) {
+        if (format == null)
+            throw new IllegalArgumentException("format must not be null");
+
+        if (out == null)
+            throw new IllegalArgumentException("out must not be null");
+
+        this.format = format;
+        this.out = out;
+        this.outStream = outStream;
+    }
+
+    /**
+     * Buffers the record of numberString.
+     *
+     * @return true if numberString is valid
+     *
+     * @throws IOException if writing a full buffer fails
+     */
+    boolean convert(CharSequence numberString) throws IOException {
+        words.setLength(0);
+
+        ConversionError error = ConvertNumbersToWords.tryConvertNumbersToWords(numberString, words);
+
+        if (error != null)
+            error.appendMessage(numberString, ConvertNumbersToWords.getLastErrorPosition(), words);
+
+        writeRecord(numberString, error == null);
+
+        return error == null;
+    }
+
+    /**
+     * Buffers the record of numberString with words as its translation, or
+     * as the reason it is invalid if isValid is false.
+     */
+    private void writeRecord(CharSequence numberString, boolean isValid) throws IOException {
+        formatted.setLength(0);
+
+        switch (format) {
+            case PLAIN:
+                if (!isValid)
+                    formatted.append("Error: ");
+                formatted.append(words);
+                break;
+            case TSV:
+                appendTsvField(numberString, formatted);
+                formatted.append('\t');
+                if (!isValid)
+                    formatted.append("Error: ");
+                appendTsvField(words, formatted);
+                break;
+            case JSON:
+                formatted.append("{\"input\":");
+                appendJsonString(numberString, formatted);
+                formatted.append(isValid ? ",\"words\":" : ",\"error\":");
+                appendJsonString(words, formatted);
+                formatted.append('}');
+                break;
+        }
+
+        formatted.append('\n');
+        write(formatted);
+    }
+
+    /**
+     * Buffers the record of every number-string of in until its end.
+     * Number-strings are separated by separator, '\n' or '\0'; with '\n', a
+     * "\r\n" ending is treated as "\n". A missing separator after the last
+     * number-string is allowed, and an empty input has no number-strings.
+     * A number-string longer than MAX_RECORD_LENGTH bytes is not kept whole
+     * but skipped to its separator, and its record is an "Error: ..." one
+     * whose input is cut to MAX_RECORD_LENGTH bytes, so that any input is
+     * read in constant memory.
+     * The records are flushed whenever a read does not fill the input
+     * buffer, i.e. at the end of a file or when a pipe has nothing more for
+     * now, so that lines typed into stdin are answered at once.
+     *
+     * @return the number of invalid number-strings
+     *
+     * @throws IOException if reading in or writing fails
+     */
+    long convertAll(ReadableByteChannel in, byte separator) throws IOException {
+        return convertAll(in, separator, null);
+    }
+
+    /**
+     * The same as convertAll(ReadableByteChannel, byte) for a stream, e.g.
+     * of a connection. The records are flushed whenever in has nothing more
+     * to read without blocking, so that pipelined lines are answered in one
+     * write and a single line is answered at once.
+     */
+    long convertAll(InputStream in, byte separator) throws IOException {
+        return convertAll(Channels.newChannel(in), separator, in);
+    }
+
+    /**
+     * @param inStream is the stream in reads from, if any, whose available
+     *                 bytes decide when to flush
+     */
+    private long convertAll(ReadableByteChannel in, byte separator, InputStream inStream) throws IOException {
+        long invalidCount = 0;
+
+        recordLength = 0;
+        isRecordAscii = true;
+        isRecordTooLong = false;
+        inBuffer.clear();
+
+        while (in.read(inBuffer) >= 0) {
+            final boolean IS_SHORT_READ = inBuffer.hasRemaining();
+            final int COUNT = inBuffer.position();
+            int start = 0;
+
+            for (int i = 0; i < COUNT; ++i) {
+                if (inBuffer.get(i) != separator)
+                    continue;
+
+                appendRecordBytes(start, i);
+                start = i + 1;
+
+                if (!convertRecord(separator))
+                    ++invalidCount;
+            }
+
+            appendRecordBytes(start, COUNT);
+            inBuffer.clear();
+
+            if (inStream != null ? inStream.available() == 0 : IS_SHORT_READ)
+                flush();
+        }
+
+        // the last number-string may not end with a separator
+        if ((recordLength > 0 || isRecordTooLong) && !convertRecord(separator))
+            ++invalidCount;
+
+        flush();
+
+        return invalidCount;
+    }
+
+    void flush() throws IOException {
+        drain();
+
+        if (outStream != null)
+            outStream.flush();
+    }
+
+    private void drain() throws IOException {
+        outBuffer.flip();
+
+        while (outBuffer.hasRemaining())
+            out.write(outBuffer);
+
+        outBuffer.clear();
+    }
+
+    private void appendRecordBytes(int from, int to) {
+        if (recordLength + to - from > MAX_RECORD_LENGTH) {
+            isRecordTooLong = true;
+            to = from + MAX_RECORD_LENGTH - recordLength;
+        }
+
+        final int LENGTH = recordLength + to - from;
+
+        if (recordBytes.length < LENGTH)
+            recordBytes = Arrays.copyOf(recordBytes, Math.min(Math.max(LENGTH, 2 * recordBytes.length),
+                                                              MAX_RECORD_LENGTH));
+
+        for (int i = from; i < to; ++i) {
+            byte b = inBuffer.get(i);
+
+            recordBytes[recordLength++] = b;
+            isRecordAscii &= b >= 0;
+        }
+    }
+
+    private boolean convertRecord(byte separator) throws IOException {
+        int length = recordLength;
+
+        if (separator == '\n' && !isRecordTooLong && length > 0 && recordBytes[length - 1] == '\r')
+            --length;
+
+        record.setLength(0);
+
+        if (isRecordAscii) {
+            for (int i = 0; i < length; ++i)
+                record.append((char) recordBytes[i]);
+        } else {
+            record.append(new String(recordBytes, 0, length, StandardCharsets.UTF_8));
+        }
+
+        recordLength = 0;
+        isRecordAscii = true;
+
+        if (!isRecordTooLong)
+            return convert(record);
+
+        isRecordTooLong = false;
+
+        words.setLength(0);
+        words.append("numberString must not be longer than ").append(MAX_RECORD_LENGTH).append(" bytes");
+        writeRecord(record, false);
+
+        return false;
+    }
+
+    /**
+     * Encodes text in UTF-8 into the output buffer, writing the buffer to
+     * out only when it is full. A lone surrogate is written as '?'.
+     */
+    private void write(CharSequence text) throws IOException {
+        final int LENGTH = text.length();
+
+        for (int i = 0; i < LENGTH; ++i) {
+            // room for the longest encoding of a character
+            if (outBuffer.remaining() < 4)
+                drain();
+
+            char c = text.charAt(i);
+
+            if (c < 0x80) {
+                outBuffer.put((byte) c);
+            } else if (c < 0x800) {
+                outBuffer.put((byte) (0xC0 | c >> 6));
+                outBuffer.put((byte) (0x80 | c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                outBuffer.put((byte) (0xE0 | c >> 12));
+                outBuffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                outBuffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < LENGTH && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+
+                outBuffer.put((byte) (0xF0 | codePoint >> 18));
+                outBuffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                outBuffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                outBuffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                outBuffer.put((byte) '?');
+            }
+        }
+    }
+
+    private static void appendTsvField(CharSequence text, StringBuilder out) {
+        final int LENGTH = text.length();
+
+        for (int i = 0; i < LENGTH; ++i) {
+            char c = text.charAt(i);
+
+            switch (c) {
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+
+    private static void appendJsonString(CharSequence text, StringBuilder out) {
+        final int LENGTH = text.length();
+
+        out.append('"');
+
+        for (int i = 0; i < LENGTH; ++i) {
+            char c = text.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+            } else {
+                out.append(c);
+            }
+        }
+
+        out.append('"');
+    }
+}
@@ -1,17 +1,45 @@
 package irsan.winarto.console;
 
 import java.io.Console;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import irsan.winarto.solution.*;
 
 
 class TheConsole {
+    // the preferred size of the chunks a CSV file is converted in parallel in
+    private final static int CSV_CHUNK_SIZE = 1 << 23;
+
+    private final static String METRICS_PROPERTY = "irsan.winarto.metrics";
+
     /**
      * @author Irsan Winarto
      */
-    public static void main(String[] args) {
-        // non-interactive mode
-        if (args.length > 0) {
-            System.out.println(translateNumberToWords(args[0]));
+    public static void main(String[] args) throws IOException {
+        // server mode: "--serve PORT" and optionally "--line-port PORT"
+        if (args.length > 0 && args[0].equals("--serve")) {
+            serveNumbersToWords(args);
+            return;
+        }
+
+        // batch mode: every amount argument, "-" for the lines of stdin,
+        // optionally "--null" and "--format FORMAT"
+        if (isBatchMode(args)) {
+            convertNumbersToWordsInBatch(args);
+            return;
+        }
+
+        // streaming mode: "--in FILE" and/or "--out FILE", each defaulting to
+        // stdin or stdout; stdin that is not a terminal is streamed as well
+        if (isStreamingMode(args) || (args.length == 0 && System.console() == null)) {
+            streamNumbersToWords(args);
             return;
         }
 
@@ -37,7 +65,8 @@ class TheConsole {
             input = console.readLine();
             console.printf("%n");
 
-            if (input.toLowerCase().equals("quit"))
+            // end of input such as Ctrl-D
+            if (input == null || input.toLowerCase().equals("quit"))
                 break;
             
             result = translateNumberToWords(input);
@@ -56,4 +85,219 @@ class TheConsole {
             return "Error: " + e.getMessage();
         }
     }
-}
+
+    private static boolean isStreamingMode(String[] args) {
+        return args.length > 0 && args[0].startsWith("--");
+    }
+
+    private static boolean isBatchMode(String[] args) {
+        if (args.length == 0)
+            return false;
+
+        String first = args[0];
+
+        // a negative amount such as "-5" is not an option
+        return !first.startsWith("--") || first.equals("--format") || first.equals("--null") || first.equals("--");
+    }
+
+    /**
+     * Translates every amount argument in order, all in one process, and
+     * writes one record per amount to stdout through a single
+     * LineConverter. An argument "-" stands for the amounts of stdin, one per line,
+     * or separated by NUL characters with "--null" as "xargs -0" reads them;
+     * stdin is read if there are no amount arguments. "--format" is plain
+     * (the default, the translation or "Error: ..." per line), tsv or json;
+     * see LineConverter. Options come before the amounts, and "--" ends
+     * them.
+     */
+    private static void convertNumbersToWordsInBatch(String[] args) throws IOException {
+        LineConverter.Format format = LineConverter.Format.PLAIN;
+        byte separator = '\n';
+
+        int i = 0;
+        for (; i < args.length && args[i].startsWith("--"); ++i) {
+            String option = args[i];
+
+            if (option.equals("--")) {
+                ++i;
+                break;
+            }
+
+            if (option.equals("--null")) {
+                separator = '\0';
+            } else if (option.equals("--format") && i + 1 < args.length) {
+                format = parseFormat(args[++i]);
+            } else {
+                exitWithUsage();
+            }
+        }
+
+        final int FIRST_AMOUNT = i;
+
+        LineConverter converter = new LineConverter(format, newStdout());
+
+        if (FIRST_AMOUNT == args.length) {
+            converter.convertAll(newStdin(), separator);
+        } else {
+            for (i = FIRST_AMOUNT; i < args.length; ++i) {
+                if (args[i].equals("-"))
+                    converter.convertAll(newStdin(), separator);
+                else
+                    converter.convert(args[i]);
+            }
+        }
+
+        converter.flush();
+    }
+
+    // stdin and stdout as channels, without the buffering and encoding of
+    // System.in and System.out, as LineConverter does both
+    private static ReadableByteChannel newStdin() {
+        return new FileInputStream(FileDescriptor.in).getChannel();
+    }
+
+    private static WritableByteChannel newStdout() {
+        return new FileOutputStream(FileDescriptor.out).getChannel();
+    }
+
+    private static LineConverter.Format parseFormat(String value) {
+        if (value.equals("plain"))
+            return LineConverter.Format.PLAIN;
+        if (value.equals("tsv"))
+            return LineConverter.Format.TSV;
+        if (value.equals("json"))
+            return LineConverter.Format.JSON;
+
+        exitWithUsage();
+        return null;
+    }
+
+    /**
+     * Streams the number-strings of the "--in" file (or stdin) line by line
+     * into translations in the "--out" file (or stdout). With
+     * "--csv-column N", the "--in" file is a CSV file whose N-th column
+     * (counted from 0) is translated into a new last column; "--csv-header"
+     * marks its first row as column names.
+     */
+    private static void streamNumbersToWords(String[] args) throws IOException {
+        String inPath = null;
+        String outPath = null;
+        int csvColumn = -1;
+        boolean hasCsvHeader = false;
+
+        for (int i = 0; i < args.length; ++i) {
+            String option = args[i];
+
+            if (option.equals("--csv-header")) {
+                hasCsvHeader = true;
+                continue;
+            }
+
+            if (i + 1 == args.length)
+                exitWithUsage();
+
+            if (option.equals("--in"))
+                inPath = args[++i];
+            else if (option.equals("--out"))
+                outPath = args[++i];
+            else if (option.equals("--csv-column"))
+                csvColumn = parseNonNegative(args[++i]);
+            else
+                exitWithUsage();
+        }
+
+        // the CSV converter maps its input, so it must be a file
+        if (csvColumn >= 0 && inPath == null)
+            exitWithUsage();
+
+        if (csvColumn >= 0) {
+            try (FileChannel in = FileChannel.open(Paths.get(inPath), StandardOpenOption.READ);
+                 WritableByteChannel out = outPath != null
+                    ? FileChannel.open(Paths.get(outPath), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                       StandardOpenOption.TRUNCATE_EXISTING)
+                    : newStdout()) {
+
+                new CsvColumnConverter(
+                    csvColumn, hasCsvHeader, CSV_CHUNK_SIZE, Runtime.getRuntime().availableProcessors()
+                ).convert(in, out);
+            }
+
+            return;
+        }
+
+        try (ReadableByteChannel in = inPath != null
+                ? FileChannel.open(Paths.get(inPath), StandardOpenOption.READ)
+                : newStdin();
+             WritableByteChannel out = outPath != null
+                ? FileChannel.open(Paths.get(outPath), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                   StandardOpenOption.TRUNCATE_EXISTING)
+                : newStdout()) {
+
+            new LineConverter(LineConverter.Format.PLAIN, out).convertAll(in, (byte) '\n');
+        }
+    }
+
+    /**
+     * Serves translations over HTTP on the "--serve" port and over the line
+     * protocol on the "--line-port" port, which defaults to the next port,
+     * until the process is stopped. The metrics are enabled unless the
+     * irsan.winarto.metrics property says otherwise.
+     */
+    private static void serveNumbersToWords(String[] args) throws IOException {
+        int httpPort = -1;
+        int linePort = -1;
+
+        for (int i = 0; i < args.length; ++i) {
+            if (i + 1 == args.length)
+                exitWithUsage();
+
+            if (args[i].equals("--serve"))
+                httpPort = parseNonNegative(args[++i]);
+            else if (args[i].equals("--line-port"))
+                linePort = parseNonNegative(args[++i]);
+            else
+                exitWithUsage();
+        }
+
+        if (linePort < 0)
+            linePort = httpPort == 0 ? 0 : httpPort + 1;
+
+        // before ConversionMetrics is loaded
+        if (System.getProperty(METRICS_PROPERTY) == null)
+            System.setProperty(METRICS_PROPERTY, "true");
+
+        ConversionServer server = new ConversionServer(httpPort, linePort);
+        server.start();
+
+        System.err.println("Serving HTTP on port " + server.getHttpPort() + " and lines on port " +
+                           server.getLinePort());
+
+        // the server threads do not keep the process alive
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            server.close();
+        }
+    }
+
+    private static int parseNonNegative(String value) {
+        try {
+            int result = Integer.parseInt(value);
+
+            if (result >= 0)
+                return result;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+
+        exitWithUsage();
+        return -1;
+    }
+
+    private static void exitWithUsage() {
+        System.err.println("Usage: [--format plain|tsv|json] [--null] [--] AMOUNT|- ...");
+        System.err.println("       [--in FILE] [--out FILE] [--csv-column N [--csv-header]]");
+        System.err.println("       --serve PORT [--line-port PORT]");
+        System.exit(2);
+    }
+}
\ No newline at end of file
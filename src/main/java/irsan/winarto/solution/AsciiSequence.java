@@ -0,0 +1,86 @@
+package irsan.winarto.solution;
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * A reusable view of a range of ASCII bytes as a CharSequence, one char per
+ * byte, so that a number-string held in bytes can be translated without
+ * decoding it into a String first. A byte outside ASCII is seen as the
+ * ISO-8859-1 char with the same value, which is never a valid digit.
+ *
+ * @author Irsan Winarto
+ */
+public final class AsciiSequence implements CharSequence {
+    private byte[] array;
+    private ByteBuffer buffer;
+    private int from;
+    private int length;
+
+    /**
+     * Views array in [from, to); nothing is copied, so array must not change
+     * while this view is in use.
+     *
+     * @return this view
+     */
+    public AsciiSequence wrap(byte[] array, int from, int to) {
+        this.array = array;
+        this.buffer = null;
+        this.from = from;
+        this.length = to - from;
+
+        return this;
+    }
+
+    /**
+     * Views buffer in [from, to) using absolute indices, so the position and
+     * limit of buffer are not changed; nothing is copied.
+     *
+     * @return this view
+     */
+    public AsciiSequence wrap(ByteBuffer buffer, int from, int to) {
+        this.array = null;
+        this.buffer = buffer;
+        this.from = from;
+        this.length = to - from;
+
+        return this;
+    }
+
+    /**
+     * Drops the reference to the viewed bytes.
+     */
+    public void clear() {
+        wrap((byte[]) null, 0, 0);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("index " + index + " is out of range for length " + length);
+
+        byte b = array != null ? array[from + index] : buffer.get(from + index);
+
+        return (char) (b & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder(length);
+
+        for (int i = 0; i < length; ++i)
+            result.append(charAt(i));
+
+        return result.toString();
+    }
+}
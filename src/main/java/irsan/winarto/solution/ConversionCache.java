@@ -0,0 +1,196 @@
+package irsan.winarto.solution;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A bounded cache of translations in front of
+ * ConvertNumbersToWords.convertNumbersToWords for workloads that repeat the
+ * same amounts over and over.
+ *
+ * Entries are keyed by the normalized amount, i.e. the integer part and the
+ * rounded cents, so "5", "5.0" and "5.001" share one entry. The cache is
+ * set-associative: every amount maps to one set of WAYS slots and a set
+ * evicts with the CLOCK algorithm, giving a slot whose entry has been read
+ * since the hand last passed it a second chance. Reads are lock-free; a
+ * write that loses a race with another writer is simply dropped.
+ *
+ * @author Irsan Winarto
+ */
+public class ConversionCache {
+    // the number of slots an amount can occupy
+    private final static int WAYS = 4;
+
+    private final AtomicReferenceArray<Entry> slots;
+    // the CLOCK hand of each set, as an offset within the set
+    private final AtomicIntegerArray hands;
+    private final int setMask;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param capacity is the maximum number of cached translations; it is
+     *                 rounded up to a power of two no smaller than 4
+     *
+     * @throws IllegalArgumentException if capacity is not positive or is
+     *                                  larger than 2 raised to 30
+     */
+    public ConversionCache(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30)
+            throw new IllegalArgumentException("capacity must be between 1 and 2 raised to 30");
+
+        final int SET_COUNT = Math.max(1, Integer.highestOneBit(capacity - 1) * 2 / WAYS);
+
+        slots = new AtomicReferenceArray<>(SET_COUNT * WAYS);
+        hands = new AtomicIntegerArray(SET_COUNT);
+        setMask = SET_COUNT - 1;
+    }
+
+    /**
+     * @param numberString is a non-negative real number
+     *
+     * @return the same translation as
+     *         ConvertNumbersToWords.convertNumbersToWords(numberString),
+     *         from the cache if the amount has been translated before
+     *
+     * @throws IllegalArgumentException if numberString is invalid
+     */
+    public String convertNumbersToWords(CharSequence numberString) {
+        ParsedAmount amount = ConvertNumbersToWords.scratch.get();
+
+        ConvertNumbersToWords.scanNumberString(numberString, amount);
+
+        String result = convertAmountToWords(amount);
+        ConvertNumbersToWords.recordLatency(amount);
+
+        return result;
+    }
+
+    /**
+     * @param amount is a scanned number
+     * @return the translation of amount, from the cache if possible
+     */
+    String convertAmountToWords(ParsedAmount amount) {
+        final int HASH = hash(amount);
+        final int FIRST_SLOT = (HASH & setMask) * WAYS;
+
+        for (int i = FIRST_SLOT; i < FIRST_SLOT + WAYS; ++i) {
+            Entry entry = slots.get(i);
+
+            if (entry != null && entry.matches(HASH, amount)) {
+                // avoid writing to a shared cache line if it is already set
+                if (!entry.referenced)
+                    entry.referenced = true;
+
+                hitCount.increment();
+                return entry.words;
+            }
+        }
+
+        missCount.increment();
+
+        Entry entry = new Entry(HASH, amount, ConvertNumbersToWords.convertAmountToWords(amount));
+        insert(FIRST_SLOT, HASH & setMask, entry);
+
+        return entry.words;
+    }
+
+    /**
+     * Places entry in its set, evicting the first entry the CLOCK hand finds
+     * unreferenced and clearing the reference bits it passes on the way.
+     */
+    private void insert(int firstSlot, int set, Entry entry) {
+        // after WAYS steps every reference bit in the set has been cleared, so
+        // 2 * WAYS steps always find a victim unless readers keep setting them
+        for (int step = 0; step < 2 * WAYS; ++step) {
+            final int HAND = hands.getAndIncrement(set) & (WAYS - 1);
+            final int SLOT = firstSlot + HAND;
+
+            Entry victim = slots.get(SLOT);
+
+            if (victim != null && victim.referenced) {
+                victim.referenced = false;
+                continue;
+            }
+
+            if (slots.compareAndSet(SLOT, victim, entry) && victim != null)
+                evictionCount.increment();
+
+            // a lost race only means this translation is not cached
+            return;
+        }
+    }
+
+    private static int hash(ParsedAmount amount) {
+        int hash = amount.cents;
+
+        for (int i = 0; i < amount.groupCount; ++i)
+            hash = 31 * hash + amount.groups[i];
+
+        // spread the high bits into the set index
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return the number of translations served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of translations that had to be computed
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of cached translations replaced by newer ones
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return the maximum number of cached translations
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * An immutable cached translation, apart from its CLOCK reference bit.
+     */
+    private static final class Entry {
+        private final int hash;
+        private final int[] groups;
+        private final int cents;
+        private final String words;
+
+        private volatile boolean referenced;
+
+        private Entry(int hash, ParsedAmount amount, String words) {
+            this.hash = hash;
+            this.groups = Arrays.copyOf(amount.groups, amount.groupCount);
+            this.cents = amount.cents;
+            this.words = words;
+        }
+
+        private boolean matches(int hash, ParsedAmount amount) {
+            if (this.hash != hash || cents != amount.cents || groups.length != amount.groupCount)
+                return false;
+
+            for (int i = 0; i < groups.length; ++i)
+                if (groups[i] != amount.groups[i])
+                    return false;
+
+            return true;
+        }
+    }
+}
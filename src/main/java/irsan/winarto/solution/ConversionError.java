@@ -0,0 +1,101 @@
+package irsan.winarto.solution;
+
+
+/**
+ * The reasons a number-string is rejected, in the order they are checked by
+ * ConvertNumbersToWords.
+ * Every reason comes with the position of the offending character in the
+ * number-string. Some reasons are about the unsigned body of the
+ * number-string, which begins at 0, or at 1 after the '-' or '(' of a signed
+ * number-string.
+ *
+ * @author Irsan Winarto
+ */
+public enum ConversionError {
+    // the number-string is null; the position is 0
+    NULL,
+    // the unsigned body is empty; the position is where the unsigned body
+    // begins, except for LenientParser, which reports 0
+    EMPTY,
+    // the unsigned body begins with '.'; the position is where the unsigned
+    // body begins
+    LEADING_DOT,
+    // the number-string ends with '.'; the position is that of the '.'
+    TRAILING_DOT,
+    // the integer part begins with '0' but is not "0"; the position is where
+    // the unsigned body begins
+    LEADING_ZERO,
+    // a character is neither a digit nor '.'; the position is that of the
+    // character
+    INVALID_CHAR,
+    // there is more than one '.'; the position is that of the second '.'
+    MULTIPLE_DOTS,
+    // the integer part has more than 64 digits; the position is that of the
+    // first digit too many
+    TOO_LONG,
+    // only reported by LenientParser: a grouping separator that does not
+    // follow a group of 1 to 3 digits at the start or of exactly 3 digits
+    // after another separator, or a group after it that is not 3 digits; the
+    // position is that of the separator or of the character ending the group
+    MISPLACED_SEPARATOR,
+    // only counted by ConversionMetrics for an amount given as a long,
+    // BigDecimal or BigInteger: the amount is negative or the cents are not
+    // between 0 and 99; such an amount is also counted as NULL if it is null
+    // and as TOO_LONG if it is too large
+    OUT_OF_RANGE;
+
+    /**
+     * @param numberString is the rejected number-string
+     * @param position is the position reported with this reason
+     * @return the message of the IllegalArgumentException thrown for this
+     *         reason by ConvertNumbersToWords.convertNumbersToWords
+     */
+    public String getMessage(CharSequence numberString, int position) {
+        StringBuilder message = new StringBuilder();
+
+        appendMessage(numberString, position, message);
+
+        return message.toString();
+    }
+
+    /**
+     * Appends the message getMessage(numberString, position) returns to out.
+     */
+    public void appendMessage(CharSequence numberString, int position, StringBuilder out) {
+        switch (this) {
+            case NULL:
+                out.append("numberString must not be null");
+                break;
+            case EMPTY:
+                out.append("numberString must not be an empty string");
+                break;
+            case LEADING_DOT:
+                out.append("numberString must not begin with the decimal point");
+                break;
+            case TRAILING_DOT:
+                out.append("numberString must not end with the decimal point");
+                break;
+            case LEADING_ZERO:
+                out.append(
+                    "numberString must not be prefixed with a zero or zeroes, unless it is 0 or decimals such as " +
+                    "0.00 or or 0.0809 or 0.3847382, etc"
+                );
+                break;
+            case INVALID_CHAR:
+                out.append("numberString contains an invalid character ").append(numberString.charAt(position));
+                break;
+            case MULTIPLE_DOTS:
+                out.append("numberString contains multiple decimal points");
+                break;
+            case TOO_LONG:
+                out.append("the number of digits of the integer part must not exceed ")
+                   .append(ConvertNumbersToWords.getMaxIntPartLength());
+                break;
+            case MISPLACED_SEPARATOR:
+                out.append("numberString contains a misplaced grouping separator at ").append(position);
+                break;
+            default:
+                out.append("the amount must not be negative and the cents must be between 0 and 99");
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package irsan.winarto.solution;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+
+/**
+ * Optional instrumentation of ConvertNumbersToWords: the number of
+ * number-strings scanned, the rejected ones by validation reason, the
+ * distribution of their lengths and a latency histogram of conversions.
+ *
+ * Every public conversion of ConvertNumbersToWords, LenientParser and
+ * ConversionCache is counted as a call, and its latency is recorded if it
+ * succeeds, or else its rejection is recorded by reason. A conversion of a
+ * long, BigDecimal or BigInteger is counted among the calls but has no
+ * length; a negative amount or cents out of range is rejected as
+ * OUT_OF_RANGE. WordsParser reads words rather than converting numbers and
+ * is not counted.
+ *
+ * Metrics are off unless the JVM is started with
+ * -Dirsan.winarto.metrics=true. ENABLED is a static final constant, so when
+ * it is false the JIT removes every recording call along with the branch
+ * guarding it. When it is true, the metrics are also registered as a JMX
+ * MBean.
+ *
+ * @author Irsan Winarto
+ */
+public final class ConversionMetrics {
+    public final static boolean ENABLED = Boolean.getBoolean("irsan.winarto.metrics");
+
+    private final static ConversionError[] reasons = ConversionError.values();
+
+    // lengths are counted in ranges 0, 1, 2-3, 4-7, ..., 128 and above
+    private final static int LENGTH_BUCKET_COUNT = 9;
+
+    private final static LongAdder calls = new LongAdder();
+    private final static LongAdder[] failures = newAdders(reasons.length);
+    private final static LongAdder[] lengths = newAdders(LENGTH_BUCKET_COUNT);
+    private final static LatencyHistogram latencies = new LatencyHistogram();
+
+    static {
+        if (ENABLED)
+            registerMBean();
+    }
+
+    private ConversionMetrics() {
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+
+        for (int i = 0; i < count; ++i)
+            adders[i] = new LongAdder();
+
+        return adders;
+    }
+
+    /**
+     * Records that a number-string of the given length is being scanned.
+     */
+    static void recordCall(int length) {
+        calls.increment();
+        lengths[Math.min(Integer.SIZE - Integer.numberOfLeadingZeros(length), LENGTH_BUCKET_COUNT - 1)].increment();
+    }
+
+    /**
+     * Records that a number given as a long, BigDecimal or BigInteger is
+     * being converted; it has no length.
+     */
+    static void recordCall() {
+        calls.increment();
+    }
+
+    /**
+     * Records that a number-string was rejected for the given reason.
+     */
+    static void recordFailure(ConversionError reason) {
+        failures[reason.ordinal()].increment();
+    }
+
+    /**
+     * Records the latency of a successful conversion.
+     */
+    static void recordLatency(long nanos) {
+        latencies.record(nanos);
+    }
+
+    /**
+     * @return a consistent-enough copy of every metric; counters updated
+     *         while the snapshot is being taken may or may not be included
+     */
+    public static Snapshot snapshot() {
+        long[] failureCounts = new long[failures.length];
+        for (int i = 0; i < failures.length; ++i)
+            failureCounts[i] = failures[i].sum();
+
+        long[] lengthCounts = new long[lengths.length];
+        for (int i = 0; i < lengths.length; ++i)
+            lengthCounts[i] = lengths[i].sum();
+
+        return new Snapshot(calls.sum(), failureCounts, lengthCounts, latencies.getCounts());
+    }
+
+    /**
+     * Sets every metric back to 0.
+     */
+    public static void reset() {
+        calls.reset();
+
+        for (LongAdder failure : failures)
+            failure.reset();
+
+        for (LongAdder length : lengths)
+            length.reset();
+
+        latencies.reset();
+    }
+
+    /**
+     * Registers the metrics as the "irsan.winarto.solution:type=ConversionMetrics"
+     * MBean of the platform MBean server unless it is registered already.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            ObjectName name = new ObjectName("irsan.winarto.solution:type=ConversionMetrics");
+
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name))
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MXBean(), name);
+        } catch (JMException e) {
+            throw new IllegalStateException("failed to register the metrics MBean", e);
+        }
+    }
+
+    /**
+     * An immutable copy of the metrics at one point in time.
+     */
+    public static final class Snapshot {
+        private final long calls;
+        private final long[] failures;
+        private final long[] lengths;
+        private final long[] latencies;
+
+        private Snapshot(long calls, long[] failures, long[] lengths, long[] latencies) {
+            this.calls = calls;
+            this.failures = failures;
+            this.lengths = lengths;
+            this.latencies = latencies;
+        }
+
+        /**
+         * @return the number of number-strings scanned
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * @return the number of number-strings rejected for any reason
+         */
+        public long getFailures() {
+            return Arrays.stream(failures).sum();
+        }
+
+        /**
+         * @return the number of rejected number-strings keyed by reason, e.g.
+         *         "INVALID_CHAR", in the order the reasons are checked
+         */
+        public Map<String, Long> getFailuresByReason() {
+            Map<String, Long> result = new LinkedHashMap<>();
+
+            for (int i = 0; i < failures.length; ++i)
+                result.put(reasons[i].name(), failures[i]);
+
+            return Collections.unmodifiableMap(result);
+        }
+
+        /**
+         * @return the number of number-strings scanned keyed by their range of
+         *         lengths, e.g. "4-7", in ascending order
+         */
+        public Map<String, Long> getInputLengthDistribution() {
+            Map<String, Long> result = new LinkedHashMap<>();
+
+            for (int i = 0; i < lengths.length; ++i) {
+                final int LOWER = i == 0 ? 0 : 1 << (i - 1);
+                final int UPPER = (1 << i) - 1;
+
+                if (i == lengths.length - 1)
+                    result.put(LOWER + "+", lengths[i]);
+                else if (LOWER == UPPER)
+                    result.put(Integer.toString(LOWER), lengths[i]);
+                else
+                    result.put(LOWER + "-" + UPPER, lengths[i]);
+            }
+
+            return Collections.unmodifiableMap(result);
+        }
+
+        /**
+         * @return the number of successful conversions whose latency was
+         *         recorded
+         */
+        public long getLatencyCount() {
+            return Arrays.stream(latencies).sum();
+        }
+
+        /**
+         * @param percentile is a number such that 0 <= percentile <= 100
+         * @return an upper bound, within 12.5%, of the conversion latency in
+         *         nanoseconds at percentile, or 0 if nothing was recorded
+         */
+        public long getLatencyNanosAtPercentile(double percentile) {
+            return LatencyHistogram.getValueAtPercentile(latencies, percentile);
+        }
+    }
+
+    /**
+     * Exposes snapshots of the metrics through JMX.
+     */
+    private static final class MXBean implements ConversionMetricsMXBean {
+        @Override
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        @Override
+        public long getFailures() {
+            return snapshot().getFailures();
+        }
+
+        @Override
+        public Map<String, Long> getFailuresByReason() {
+            return snapshot().getFailuresByReason();
+        }
+
+        @Override
+        public Map<String, Long> getInputLengthDistribution() {
+            return snapshot().getInputLengthDistribution();
+        }
+
+        @Override
+        public long getLatencyP50Nanos() {
+            return snapshot().getLatencyNanosAtPercentile(50);
+        }
+
+        @Override
+        public long getLatencyP99Nanos() {
+            return snapshot().getLatencyNanosAtPercentile(99);
+        }
+
+        @Override
+        public long getLatencyP999Nanos() {
+            return snapshot().getLatencyNanosAtPercentile(99.9);
+        }
+
+        @Override
+        public long getLatencyMaxNanos() {
+            return snapshot().getLatencyNanosAtPercentile(100);
+        }
+
+        @Override
+        public void reset() {
+            ConversionMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package irsan.winarto.solution;
+
+import java.util.Map;
+
+
+/**
+ * The JMX view of ConversionMetrics, registered as
+ * "irsan.winarto.solution:type=ConversionMetrics" when metrics are enabled.
+ *
+ * @author Irsan Winarto
+ */
+public interface ConversionMetricsMXBean {
+    long getCalls();
+
+    long getFailures();
+
+    /**
+     * @return the number of rejected number-strings for every validation
+     *         reason
+     */
+    Map<String, Long> getFailuresByReason();
+
+    /**
+     * @return the number of number-strings for every range of lengths, keyed
+     *         by the range such as "4-7"
+     */
+    Map<String, Long> getInputLengthDistribution();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyP999Nanos();
+
+    long getLatencyMaxNanos();
+
+    void reset();
+}
@@ -0,0 +1,356 @@
+package irsan.winarto.solution;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * A reactive-streams stage translating every number-string it receives with
+ * ConvertNumbersToWords.tryConvertNumbersToWords. An invalid number-string is
+ * emitted as an invalid ConversionResult; only an error of the upstream
+ * publisher ends the stream with onError.
+ *
+ * The stage never buffers more than its subscriber has asked for: it asks
+ * the upstream for at most batchSize number-strings at a time, and only as
+ * many as are still wanted downstream, so that requesting happens once per
+ * batch rather than once per number-string. Received number-strings are not
+ * held back to fill a batch, since the upstream may be slow to send the
+ * rest: every signal takes the lock, and a drain translates and emits
+ * whatever has been received, up to batchSize at a time. Without an
+ * executor and with an upstream signalling from its own thread, that is one
+ * number-string per drain; with an executor, the number-strings received
+ * while a drain waits to run are translated together. Either way, the
+ * subscriber is signalled by one thread at a time.
+ *
+ * A processor has a single subscriber; any later one is rejected with an
+ * IllegalStateException.
+ *
+ * @author Irsan Winarto
+ */
+public final class ConversionProcessor implements Flow.Processor<CharSequence, ConversionResult> {
+    private final static int DEFAULT_BATCH_SIZE = 64;
+
+    private final int batchSize;
+    private final Executor executor;
+    private final Runnable drainTask = this::drainLoop;
+
+    // the number of times the stage has been asked to drain since the
+    // current drain started; only the thread raising it from 0 drains
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    // the batch being translated, only touched by the draining thread
+    private final CharSequence[] batch;
+    private final ConversionResult[] results;
+
+    // guarded by this
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super ConversionResult> downstream;
+    private boolean hasSubscriber;
+    private final ArrayDeque<CharSequence> received = new ArrayDeque<>();
+    // requested downstream but not emitted yet
+    private long demand;
+    // requested from the upstream but not received yet
+    private long outstanding;
+    private boolean upstreamDone;
+    private Throwable upstreamError;
+    // an error of the stage itself, emitted before anything else
+    private Throwable failure;
+    // the subscriber has been completed, failed or has cancelled
+    private boolean terminated;
+
+    /**
+     * A processor translating batches of up to 64 number-strings on the
+     * signalling thread.
+     */
+    public ConversionProcessor() {
+        this(DEFAULT_BATCH_SIZE, null);
+    }
+
+    /**
+     * @param batchSize is the maximum number of number-strings requested
+     *                  from the upstream and translated at a time
+     * @param executor translates the batches and signals the subscriber, or
+     *                 is null to do both on the thread signalling the stage
+     *
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public ConversionProcessor(int batchSize, Executor executor) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be positive");
+
+        this.batchSize = batchSize;
+        this.executor = executor;
+
+        batch = new CharSequence[batchSize];
+        results = new ConversionResult[batchSize];
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ConversionResult> subscriber) {
+        if (subscriber == null)
+            throw new NullPointerException("subscriber must not be null");
+
+        boolean isRejected;
+
+        synchronized (this) {
+            isRejected = hasSubscriber;
+            hasSubscriber = true;
+        }
+
+        if (isRejected) {
+            subscriber.onSubscribe(new Rejection());
+            subscriber.onError(new IllegalStateException("a ConversionProcessor has a single subscriber"));
+            return;
+        }
+
+        // requests made within onSubscribe are counted, but nothing is
+        // emitted before it returns
+        subscriber.onSubscribe(new Subscription());
+
+        synchronized (this) {
+            downstream = subscriber;
+        }
+
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        boolean isRejected;
+
+        synchronized (this) {
+            isRejected = upstream != null || terminated;
+
+            if (!isRejected)
+                upstream = subscription;
+        }
+
+        if (isRejected) {
+            subscription.cancel();
+            return;
+        }
+
+        drain();
+    }
+
+    @Override
+    public void onNext(CharSequence numberString) {
+        if (numberString == null)
+            throw new NullPointerException("numberString must not be null");
+
+        synchronized (this) {
+            if (terminated || failure != null)
+                return;
+
+            received.add(numberString);
+
+            if (outstanding > 0)
+                --outstanding;
+        }
+
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (throwable == null)
+            throw new NullPointerException("throwable must not be null");
+
+        synchronized (this) {
+            upstreamDone = true;
+            upstreamError = throwable;
+        }
+
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            upstreamDone = true;
+        }
+
+        drain();
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0)
+            return;
+
+        if (executor == null) {
+            drainLoop();
+            return;
+        }
+
+        try {
+            executor.execute(drainTask);
+        } catch (RejectedExecutionException e) {
+            // this thread still holds the drain, so it reports the error
+            fail(e);
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        int requests = 1;
+
+        do {
+            while (drainBatch()) {
+            }
+
+            requests = drainRequests.addAndGet(-requests);
+        } while (requests != 0);
+    }
+
+    /**
+     * Emits the next batch, asking the upstream for more once everything it
+     * was asked for has arrived, or completes the subscriber.
+     *
+     * @return true if a batch was emitted, so that there may be more to do
+     */
+    private boolean drainBatch() {
+        Flow.Subscriber<? super ConversionResult> subscriber;
+        Flow.Subscription subscription;
+        int count = 0;
+        long request = 0;
+        boolean isComplete = false;
+        Throwable error = null;
+
+        synchronized (this) {
+            if (terminated || downstream == null)
+                return false;
+
+            subscriber = downstream;
+            subscription = upstream;
+
+            if (failure != null) {
+                terminated = true;
+                isComplete = true;
+                error = failure;
+            } else if (subscription == null) {
+                return false;
+            } else if (upstreamDone && received.isEmpty()) {
+                terminated = true;
+                isComplete = true;
+                error = upstreamError;
+            } else {
+                count = (int) Math.min(Math.min(demand, received.size()), batchSize);
+
+                for (int i = 0; i < count; ++i)
+                    batch[i] = received.poll();
+
+                demand -= count;
+
+                // the next batch is requested before this one is translated
+                if (!upstreamDone && outstanding == 0 && received.isEmpty()) {
+                    request = Math.min(demand, batchSize);
+                    outstanding = request;
+                }
+            }
+        }
+
+        if (isComplete) {
+            if (error == null)
+                subscriber.onComplete();
+            else
+                subscriber.onError(error);
+
+            return false;
+        }
+
+        if (request > 0)
+            subscription.request(request);
+
+        for (int i = 0; i < count; ++i) {
+            results[i] = ConvertNumbersToWords.tryConvertNumbersToWords(batch[i]);
+            batch[i] = null;
+        }
+
+        for (int i = 0; i < count; ++i) {
+            ConversionResult result = results[i];
+            results[i] = null;
+
+            subscriber.onNext(result);
+        }
+
+        return count > 0;
+    }
+
+    /**
+     * Cancels the upstream and has the next drain end the stream with error
+     * instead of anything else, unless it has already ended. The caller
+     * drains afterwards.
+     */
+    private void fail(Throwable error) {
+        Flow.Subscription subscription;
+
+        synchronized (this) {
+            if (terminated || failure != null)
+                return;
+
+            failure = error;
+            received.clear();
+            subscription = upstream;
+        }
+
+        if (subscription != null)
+            subscription.cancel();
+    }
+
+    /**
+     * The subscription of the single subscriber.
+     */
+    private final class Subscription implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("n must be positive"));
+                drain();
+                return;
+            }
+
+            synchronized (ConversionProcessor.this) {
+                demand += n;
+
+                // demand is unbounded from Long.MAX_VALUE onwards
+                if (demand < 0)
+                    demand = Long.MAX_VALUE;
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription subscription;
+
+            synchronized (ConversionProcessor.this) {
+                if (terminated)
+                    return;
+
+                terminated = true;
+                received.clear();
+                subscription = upstream;
+            }
+
+            if (subscription != null)
+                subscription.cancel();
+        }
+    }
+
+    /**
+     * The subscription of a rejected subscriber, which does nothing.
+     */
+    private final static class Rejection implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package irsan.winarto.solution;
+
+
+/**
+ * The outcome of translating one number-string without throwing: either its
+ * translation or the reason it was rejected along with the position of the
+ * offending character.
+ *
+ * @author Irsan Winarto
+ */
+public final class ConversionResult {
+    private final CharSequence numberString;
+    private final String words;
+    private final ConversionError error;
+    private final int errorPosition;
+
+    private ConversionResult(CharSequence numberString, String words, ConversionError error, int errorPosition) {
+        this.numberString = numberString;
+        this.words = words;
+        this.error = error;
+        this.errorPosition = errorPosition;
+    }
+
+    static ConversionResult valid(CharSequence numberString, String words) {
+        return new ConversionResult(numberString, words, null, -1);
+    }
+
+    static ConversionResult invalid(CharSequence numberString, ConversionError error, int errorPosition) {
+        return new ConversionResult(numberString, null, error, errorPosition);
+    }
+
+    /**
+     * @return the translated number-string
+     */
+    public CharSequence getNumberString() {
+        return numberString;
+    }
+
+    /**
+     * @return true if the number-string was translated
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * @return the translation, or null if the number-string is invalid
+     */
+    public String getWords() {
+        return words;
+    }
+
+    /**
+     * @return the reason the number-string is invalid, or null if it is valid
+     */
+    public ConversionError getError() {
+        return error;
+    }
+
+    /**
+     * @return the position of the offending character, or -1 if the
+     *         number-string is valid
+     */
+    public int getErrorPosition() {
+        return errorPosition;
+    }
+
+    /**
+     * @return the message an IllegalArgumentException would have for the
+     *         same number-string, or null if the number-string is valid
+     */
+    public String getErrorMessage() {
+        return error == null ? null : error.getMessage(numberString, errorPosition);
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? words : "Error: " + getErrorMessage();
+    }
+}
@@ -0,0 +1,51 @@
+package irsan.winarto.solution;
+
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * Translates a range of a batch, splitting it in halves until a range holds
+ * at most threshold number-strings. Every range writes only its own indices
+ * of results and errors, so the output stays in input order; the result of
+ * the task is the number of invalid number-strings in its range.
+ *
+ * @author Irsan Winarto
+ */
+class ConversionTask extends RecursiveTask<Integer> {
+    private final static long serialVersionUID = 1L;
+
+    private final CharSequence[] numberStrings;
+    private final String[] results;
+    private final String[] errors;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    ConversionTask(CharSequence[] numberStrings, String[] results, String[] errors, int from, int to,
+                   int threshold) {
+        this.numberStrings = numberStrings;
+        this.results = results;
+        this.errors = errors;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected Integer compute() {
+        if (to - from <= threshold)
+            // the worker thread's own ParsedAmount and StringBuilder are used
+            return ConvertNumbersToWords.convertRange(numberStrings, from, to, results, errors);
+
+        final int MIDDLE = (from + to) >>> 1;
+
+        ConversionTask lower = new ConversionTask(numberStrings, results, errors, from, MIDDLE, threshold);
+        ConversionTask upper = new ConversionTask(numberStrings, results, errors, MIDDLE, to, threshold);
+
+        lower.fork();
+
+        int errorCount = upper.compute();
+
+        return errorCount + lower.join();
+    }
+}
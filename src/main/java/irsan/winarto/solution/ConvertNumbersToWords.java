@@ -1,60 +1,50 @@
 package irsan.winarto.solution;
 
-import java.lang.Character;
-import java.util.*;
-
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 public class ConvertNumbersToWords {
-    // "dictionaries" for translating ones and tens
-    private final static Map<String, String> ones = new HashMap<>();
-    private final static Map<String, String> tens = new HashMap<>();
-
     // invariance: this constant equals to the length of the integer part in the
-    //             largest number scale contained in the scaleNames array,
-    //             which is VIGINTILLION (10 raised to 63)
+    //             largest number scale a Language names, which is
+    //             VIGINTILLION (10 raised to 63) in Australian English
     private final static int MAX_INT_PART_LENGTH = 64;
 
-    // invariance: powers of 1000 in the ascending order starting from 0 power
-    private final static String[] scaleNames = {
-        "", "THOUSAND", "MILLION", "BILLION", "TRILLION", "QUADRILLION", 
-        "QUINTILLION", "SEXTILLION", "SEPTILLION", "OCTILLION", "NONILLION",
-        "DECILLION", "UNDECILLION", "DUODECILLION", "TREDECILLION", 
-        "QUATTUORDECILLION", "QUINDECILLION", "SEXDECILLION", "SEPTENDECILLION",
-        "OCTODECILLION", "NOVEMDECILLION", "VIGINTILLION"
+    // every translation is a sequence of fragments of the default language
+    // compiled once, e.g. "ONE HUNDRED AND FIVE", " THOUSAND" or ", ", so
+    // that writing a fragment is a copy
+    private final static WordTable defaultWords = EnglishLanguage.AUSTRALIAN.getWordTable();
+
+    // the exclusive upper bound of the integer part, i.e. 10 raised to 64
+    private final static BigInteger MAX_INTEGER_PART = BigInteger.TEN.pow(MAX_INT_PART_LENGTH);
+    private final static BigDecimal MAX_DECIMAL_INTEGER_PART = new BigDecimal(MAX_INTEGER_PART);
+
+    // large integers are split into long-sized limbs of 18 digits, i.e. six
+    // triples, before being split into triples with long arithmetic
+    private final static int TRIPLES_PER_LIMB = 6;
+    private final static BigInteger LIMB_BASE = BigInteger.TEN.pow(3 * TRIPLES_PER_LIMB);
+
+    // the number of minor units in a major unit by the number of minor digits
+    private final static int[] minorUnitsPerMajorUnit = { 1, 10, 100, 1000 };
+
+    // per-thread scratch space so that scanning does not allocate; a
+    // subclass rather than a lambda, whose bootstrap would delay the first
+    // translation in a new JVM
+    final static ThreadLocal<ParsedAmount> scratch = new ThreadLocal<ParsedAmount>() {
+        @Override
+        protected ParsedAmount initialValue() {
+            return new ParsedAmount();
+        }
     };
 
-    static {
-        ones.put("0", "ZERO");
-        ones.put("1", "ONE");
-        ones.put("2", "TWO");
-        ones.put("3", "THREE");
-        ones.put("4", "FOUR");
-        ones.put("5", "FIVE");
-        ones.put("6", "SIX");
-        ones.put("7", "SEVEN");
-        ones.put("8", "EIGHT");
-        ones.put("9", "NINE");
-
-        tens.put("10", "TEN");
-        tens.put("11", "ELEVEN");
-        tens.put("12", "TWELVE");
-        tens.put("13", "THIRTEEN");
-        tens.put("14", "FOURTEEN");
-        tens.put("15", "FIFTEEN");
-        tens.put("16", "SIXTEEN");
-        tens.put("17", "SEVENTEEN");
-        tens.put("18", "EIGHTEEN");
-        tens.put("19", "NINETEEN");
-        // '0' is deliberately excluded from the tails of the numbers below
-        tens.put("2", "TWENTY");
-        tens.put("3", "THIRTY");
-        tens.put("4", "FORTY");
-        tens.put("5", "FIFTY");
-        tens.put("6", "SIXTY");
-        tens.put("7", "SEVENTY");
-        tens.put("8", "EIGHTY");
-        tens.put("9", "NINETY");
-    }
+    // ranges of a parallel batch holding at most this many number-strings are
+    // not split any further by default
+    private final static int DEFAULT_SPLIT_THRESHOLD = 4096;
 
     /**
      * @author Irsan Winarto
@@ -71,256 +61,1058 @@ public class ConvertNumbersToWords {
      *         returned 
      */
     public static String convertNumbersToWords(String numberString) {
+        ParsedAmount amount = scratch.get();
 
         // this may throw an IllegalArgumentException if numberString is invalid
-        checkArgumentHelper(numberString);
+        scanNumberString(numberString, amount);
+
+        String result = convertAmountToWords(amount);
+        recordLatency(amount);
+
+        return result;
+    }
 
-        String[] intAndFrac = getIntegerAndFractionalParts(numberString);
+    /**
+     * Appends the translation of numberString to out without creating any
+     * intermediate strings, so that a caller reusing the same out (after
+     * setLength(0)) allocates nothing once out has grown large enough.
+     *
+     * @param numberString is a non-negative real number given as a sequence of
+     *                     characters
+     * @param out is the buffer the translation is appended to
+     *
+     * @require numberString is either null or a valid non-negative real number;
+     *          out is not null
+     *
+     * @ensure the Australian English translation of numberString is appended
+     *         to out; if numberString is invalid, an IllegalArgumentException
+     *         is thrown and out is left untouched
+     */
+    public static void convertNumbersToWords(CharSequence numberString, StringBuilder out) {
+        ParsedAmount amount = scratch.get();
+
+        // this may throw an IllegalArgumentException if numberString is invalid
+        scanNumberString(numberString, amount);
 
-        String integerPart = intAndFrac[0];
-        String fractionalPart = intAndFrac[1];
+        convertAmountToWords(amount, out);
+        recordLatency(amount);
+    }
 
-        String result = convertIntegerToWords(integerPart, "DOLLAR");
+    /**
+     * The same as convertNumbersToWords(String), but in the given language,
+     * e.g. GermanLanguage.INSTANCE or EnglishLanguage.AMERICAN, and in the
+     * units of its default currency, to whose minor digits the fractional
+     * part is rounded.
+     *
+     * @param numberString is a non-negative real number
+     * @param language is the language of the translation
+     * @return the translation of numberString in language
+     *
+     * @throws IllegalArgumentException if numberString is invalid
+     */
+    public static String convertNumbersToWords(CharSequence numberString, Language language) {
+        WordTable words = language.getWordTable();
+        ParsedAmount amount = scratch.get();
+
+        scanNumberString(numberString, amount, language.getDefaultCurrency().getMinorDigits());
+
+        String result = convertAmountToWords(amount, words);
+        recordLatency(amount);
+
+        return result;
+    }
+
+    /**
+     * The same as convertNumbersToWords(CharSequence, StringBuilder), but in
+     * the given language.
+     *
+     * @param numberString is a non-negative real number
+     * @param language is the language of the translation
+     * @param out is the buffer the translation is appended to
+     *
+     * @throws IllegalArgumentException if numberString is invalid; out is
+     *                                  left untouched in that case
+     */
+    public static void convertNumbersToWords(CharSequence numberString, Language language, StringBuilder out) {
+        WordTable words = language.getWordTable();
+        ParsedAmount amount = scratch.get();
+
+        scanNumberString(numberString, amount, language.getDefaultCurrency().getMinorDigits());
+
+        convertAmountToWords(amount, words, out);
+        recordLatency(amount);
+    }
+
+    /**
+     * The same as convertNumbersToWords(String), but in the units of the
+     * given currency, e.g. "1.5" is "ONE POUND AND FIFTY PENCE" in
+     * Currency.GBP and "1.5" is "TWO YEN" in Currency.JPY since the
+     * fractional part is rounded to the minor digits of currency.
+     *
+     * @param numberString is a non-negative real number
+     * @param currency is the currency of the amount
+     * @return the Australian English translation of numberString in currency
+     *
+     * @throws IllegalArgumentException if numberString is invalid
+     */
+    public static String convertNumbersToWords(CharSequence numberString, Currency currency) {
+        return convertNumbersToWords(numberString, EnglishLanguage.AUSTRALIAN, currency);
+    }
+
+    /**
+     * The same as convertNumbersToWords(CharSequence, Currency), but in the
+     * given language.
+     *
+     * @throws IllegalArgumentException if numberString is invalid
+     */
+    public static String convertNumbersToWords(CharSequence numberString, Language language, Currency currency) {
+        WordTable words = language.getWordTable(currency);
+        ParsedAmount amount = scratch.get();
 
-        if (fractionalPart != null) {
-            fractionalPart = convertIntegerToWords(fractionalPart, "CENT");
-            // do NOT say "ZERO CENT"
-            if (!fractionalPart.contains("ZERO"))
-                result += " AND " + fractionalPart;
+        scanNumberString(numberString, amount, currency.getMinorDigits());
+
+        String result = convertAmountToWords(amount, words);
+        recordLatency(amount);
+
+        return result;
+    }
+
+    /**
+     * The same as convertNumbersToWords(CharSequence, Language, StringBuilder),
+     * but in the units of the given currency. Once language and currency have
+     * been used together, nothing is allocated but out growing.
+     *
+     * @throws IllegalArgumentException if numberString is invalid; out is
+     *                                  left untouched in that case
+     */
+    public static void convertNumbersToWords(CharSequence numberString, Language language, Currency currency,
+                                             StringBuilder out) {
+        WordTable words = language.getWordTable(currency);
+        ParsedAmount amount = scratch.get();
+
+        scanNumberString(numberString, amount, currency.getMinorDigits());
+
+        convertAmountToWords(amount, words, out);
+        recordLatency(amount);
+    }
+
+    /**
+     * The same as convertNumbersToWords(String), but numberString may also be
+     * a negative amount written as "-125.40", "(125.40)" or "125.40CR",
+     * which is translated as "MINUS ONE HUNDRED AND TWENTY-FIVE DOLLARS AND
+     * FORTY CENTS". A zero amount is never negative.
+     *
+     * @param numberString is a real number, possibly negative
+     * @return the translation of numberString worded with
+     *         NegativeWording.MINUS if it is negative
+     *
+     * @throws IllegalArgumentException if numberString is invalid
+     */
+    public static String convertSignedNumbersToWords(CharSequence numberString) {
+        ParsedAmount amount = scratch.get();
+
+        scanSignedNumberString(numberString, amount, 2);
+
+        defaultWords.planWords(amount);
+
+        StringBuilder result = new StringBuilder(
+            defaultWords.getPlannedLength(amount) + (amount.isNegative ? NegativeWording.MINUS.length() : 0)
+        );
+        appendSignedWords(amount, defaultWords, NegativeWording.MINUS, result);
+        recordLatency(amount);
+
+        return result.toString();
+    }
+
+    /**
+     * The same as convertSignedNumbersToWords(CharSequence), but appending to
+     * out with the given wording of a negative amount, e.g.
+     * NegativeWording.CREDIT. A positive amount costs the same as with
+     * convertNumbersToWords(CharSequence, StringBuilder).
+     *
+     * @throws IllegalArgumentException if numberString is invalid; out is
+     *                                  left untouched in that case
+     */
+    public static void convertSignedNumbersToWords(CharSequence numberString, NegativeWording wording,
+                                                   StringBuilder out) {
+        convertSignedNumbersToWords(numberString, EnglishLanguage.AUSTRALIAN, Currency.AUD, wording, out);
+    }
+
+    /**
+     * The same as convertSignedNumbersToWords(CharSequence, NegativeWording,
+     * StringBuilder), but in the given language and currency.
+     *
+     * @throws IllegalArgumentException if numberString is invalid; out is
+     *                                  left untouched in that case
+     */
+    public static void convertSignedNumbersToWords(CharSequence numberString, Language language, Currency currency,
+                                                   NegativeWording wording, StringBuilder out) {
+        WordTable words = language.getWordTable(currency);
+        ParsedAmount amount = scratch.get();
+
+        scanSignedNumberString(numberString, amount, currency.getMinorDigits());
+
+        words.planWords(amount);
+        appendSignedWords(amount, words, wording, out);
+        recordLatency(amount);
+    }
+
+    private static void scanSignedNumberString(CharSequence numberString, ParsedAmount amount, int minorDigits) {
+        ConversionError error = scanSigned(numberString, amount, minorDigits);
+
+        if (error != null)
+            throw new IllegalArgumentException(error.getMessage(numberString, amount.errorPosition));
+    }
+
+    /**
+     * Appends the translation planned in amount by words.planWords to out,
+     * worded with wording if amount is negative.
+     */
+    static void appendSignedWords(ParsedAmount amount, WordTable words, NegativeWording wording, StringBuilder out) {
+        if (!amount.isNegative) {
+            out.ensureCapacity(out.length() + words.getPlannedLength(amount));
+            words.appendPlannedWords(amount, out);
+            return;
         }
 
+        out.ensureCapacity(out.length() + words.getPlannedLength(amount) + wording.length());
+
+        wording.appendPrefix(out);
+        words.appendPlannedWords(amount, out);
+        wording.appendSuffix(out);
+    }
+
+    /**
+     * The same as convertNumbersToWords(String), but an invalid numberString
+     * gives a result holding the reason and the position of the offending
+     * character rather than an IllegalArgumentException.
+     *
+     * @param numberString is a non-negative real number, or null
+     * @return the translation of numberString or the reason it is invalid;
+     *         never null
+     */
+    public static ConversionResult tryConvertNumbersToWords(CharSequence numberString) {
+        ParsedAmount amount = scratch.get();
+
+        ConversionError error = scan(numberString, amount);
+
+        if (error != null)
+            return ConversionResult.invalid(numberString, error, amount.errorPosition);
+
+        ConversionResult result = ConversionResult.valid(numberString, convertAmountToWords(amount));
+        recordLatency(amount);
+
         return result;
     }
 
     /**
-     * This helper method converts an integer into English words and append a 
-     * unit to the translation.
-     * 
-     * @param intString must be a valid integer number
-     * @param unit must be a singular noun in uppercase such as "DOLLAR" or 
-     *             "CENT", whose plural form ends with an 'S'
-     * @return the number written in English words with the given unit appended
-     *         all in uppercase letters
-     * 
-     * @require intString is a String of digits such that can only be prepended
-     *          by exactly one "0" only, (e.g. 01 cent or 09 cents)
-     * 
-     *          unit is a singular noun in uppercase letters whose plural form 
-     *          ends with an 'S'
-     * 
-     * @ensure what is described in the return tag is true
+     * The same as convertNumbersToWords(CharSequence, StringBuilder), but an
+     * invalid numberString is reported by the returned reason rather than
+     * thrown, so that neither a valid nor an invalid numberString allocates
+     * anything once out has grown large enough. The message of the reason
+     * can be built with ConversionError.appendMessage when it is needed.
+     *
+     * @param numberString is a non-negative real number, or null
+     * @param out is the buffer the translation is appended to
+     * @return null if the translation was appended to out, or else the
+     *         reason numberString is invalid, in which case out is left
+     *         untouched
+     *
+     * @require out is not null
      */
-    private static String convertIntegerToWords(String intString, String unit) {
-        // this will contain intString chunks of 3 consecutive digits
-        List<String> chunks = new ArrayList<>();
+    public static ConversionError tryConvertNumbersToWords(CharSequence numberString, StringBuilder out) {
+        ParsedAmount amount = scratch.get();
 
-        final int LENGTH = intString.length();
-        final int MAX_TRIPLE_COUNT = (int) Math.ceil((double)LENGTH / 3);
+        ConversionError error = scan(numberString, amount);
 
-        String currentTriple = null;
+        if (error != null)
+            return error;
 
-        for (int index = 0; index < MAX_TRIPLE_COUNT; ++index) {
-            int upperIndex = LENGTH - index * 3;
-            int lowerIndex = Math.max(upperIndex - 3, 0);
+        convertAmountToWords(amount, out);
+        recordLatency(amount);
 
-            currentTriple = convertAtMostHundredsToWords(
-                intString.substring(lowerIndex, upperIndex)
-            );
+        return null;
+    }
 
-            if (currentTriple == null)
-                // "00" or "000" in intString is currently being parsed
-                continue;
+    /**
+     * @return the position of the offending character of the last
+     *         number-string tryConvertNumbersToWords(CharSequence,
+     *         StringBuilder) rejected on the calling thread
+     */
+    public static int getLastErrorPosition() {
+        return scratch.get().errorPosition;
+    }
 
-            // if intString is at least 1000
-            if (index > 0)
-                currentTriple = currentTriple + " " + scaleNames[index];
+    /**
+     * Translates the ASCII number-string in the remaining bytes of in into
+     * ASCII words written to out, copying pre-encoded fragments without any
+     * charset step or heap allocation. Either buffer may be direct.
+     *
+     * @param in holds the number-string in [position, limit)
+     * @param out receives the translation from its position
+     * @return the number of bytes written to out
+     *
+     * @throws IllegalArgumentException if the number-string is invalid
+     * @throws BufferOverflowException if out has too few bytes remaining
+     *
+     * @ensure on success, the position of in is its limit and the position
+     *         of out is advanced past the translation; on failure, neither
+     *         buffer is changed
+     */
+    public static int convertNumbersToWords(ByteBuffer in, ByteBuffer out) {
+        ParsedAmount amount = scratch.get();
 
-            chunks.add(0, currentTriple);
+        try {
+            scanNumberString(amount.asciiView.wrap(in, in.position(), in.limit()), amount);
+        } finally {
+            amount.asciiView.clear();
         }
 
-        final int SIZE = chunks.size();
-        final String leastSigTriple = chunks.get(SIZE - 1);
+        planWords(amount);
+
+        final int LENGTH = getPlannedLength(amount);
+
+        if (out.remaining() < LENGTH)
+            throw new BufferOverflowException();
+
+        final int[] PLAN = amount.fragments;
+
+        for (int i = 0; i < amount.fragmentCount; ++i)
+            out.put(defaultWords.fragmentBytes[PLAN[i]]);
+
+        in.position(in.limit());
 
-        // put a ", " after every power of 1000 starting from "MILLION"
-        String result = String.join(", ", chunks.subList(0, SIZE - 1));
+        recordLatency(amount);
 
-        if (SIZE > 1) {
-            if (leastSigTriple.contains("HUNDRED")) {
-                // normal case
-                result += ", " + leastSigTriple + " " + unit;
+        return LENGTH;
+    }
+
+    /**
+     * Translates the ASCII number-string in in[offset, offset + length) into
+     * ASCII words written from out[outOffset], copying pre-encoded fragments
+     * without any charset step or heap allocation.
+     *
+     * @return the number of bytes written to out
+     *
+     * @throws IllegalArgumentException if the number-string is invalid
+     * @throws IndexOutOfBoundsException if a range is outside its array or
+     *                                   out has too little room; nothing is
+     *                                   written to out in that case
+     */
+    public static int convertNumbersToWords(byte[] in, int offset, int length, byte[] out, int outOffset) {
+        Objects.checkFromIndexSize(offset, length, in.length);
+
+        ParsedAmount amount = scratch.get();
+
+        try {
+            scanNumberString(amount.asciiView.wrap(in, offset, offset + length), amount);
+        } finally {
+            amount.asciiView.clear();
+        }
+
+        planWords(amount);
+
+        final int LENGTH = getPlannedLength(amount);
+
+        Objects.checkFromIndexSize(outOffset, LENGTH, out.length);
+
+        final int[] PLAN = amount.fragments;
+
+        int position = outOffset;
+        for (int i = 0; i < amount.fragmentCount; ++i) {
+            byte[] fragment = defaultWords.fragmentBytes[PLAN[i]];
+
+            System.arraycopy(fragment, 0, out, position, fragment.length);
+            position += fragment.length;
+        }
+
+        recordLatency(amount);
+
+        return LENGTH;
+    }
+
+    /**
+     * Translates a whole batch of number-strings with one set of scratch
+     * buffers. An invalid number-string does not stop the batch; it is
+     * reported at its own index instead.
+     *
+     * @param numberStrings are the number-strings to be translated
+     * @param results receives the translation of numberStrings[i] in
+     *                results[i], or null if numberStrings[i] is invalid
+     * @param errors receives the reason numberStrings[i] is invalid in
+     *               errors[i], or null if it is valid; errors may be null if
+     *               the reasons are not needed
+     * @return the number of invalid number-strings
+     *
+     * @throws IllegalArgumentException if results or errors (when not null)
+     *                                  is shorter than numberStrings
+     */
+    public static int convertAll(CharSequence[] numberStrings, String[] results, String[] errors) {
+        checkBatchArguments(numberStrings.length, results, errors);
+
+        return convertRange(numberStrings, 0, numberStrings.length, results, errors);
+    }
+
+    /**
+     * The same as convertAll(CharSequence[], String[], String[]) for a list.
+     */
+    public static int convertAll(List<? extends CharSequence> numberStrings, String[] results, String[] errors) {
+        return convertAll(numberStrings.toArray(new CharSequence[0]), results, errors);
+    }
+
+    /**
+     * The same as convertAll(CharSequence[], String[], String[]), but the
+     * batch is split across the common ForkJoinPool.
+     */
+    public static int convertAllParallel(CharSequence[] numberStrings, String[] results, String[] errors) {
+        return convertAllParallel(numberStrings, results, errors, ForkJoinPool.commonPool(), DEFAULT_SPLIT_THRESHOLD);
+    }
+
+    /**
+     * The same as convertAll(CharSequence[], String[], String[]), but the
+     * batch is split in halves across pool until a part holds at most
+     * threshold number-strings. Every worker thread uses its own scratch
+     * buffers and the results are in the same order as numberStrings.
+     *
+     * @param pool runs the conversion
+     * @param threshold is the largest part translated without splitting
+     *
+     * @throws IllegalArgumentException if threshold is not positive or if
+     *                                  results or errors (when not null) is
+     *                                  shorter than numberStrings
+     */
+    public static int convertAllParallel(CharSequence[] numberStrings, String[] results, String[] errors,
+                                         ForkJoinPool pool, int threshold) {
+        if (threshold <= 0)
+            throw new IllegalArgumentException("threshold must be positive");
+
+        checkBatchArguments(numberStrings.length, results, errors);
+
+        return pool.invoke(new ConversionTask(numberStrings, results, errors, 0, numberStrings.length, threshold));
+    }
+
+    static void checkBatchArguments(int length, String[] results, String[] errors) {
+        if (results.length < length)
+            throw new IllegalArgumentException("results must not be shorter than numberStrings");
+
+        if (errors != null && errors.length < length)
+            throw new IllegalArgumentException("errors must not be shorter than numberStrings");
+    }
+
+    /**
+     * Translates numberStrings in [from, to) into results and errors as
+     * described in convertAll, reusing one ParsedAmount and one StringBuilder
+     * for the whole range.
+     *
+     * @return the number of invalid number-strings in [from, to)
+     */
+    static int convertRange(CharSequence[] numberStrings, int from, int to, String[] results, String[] errors) {
+        ParsedAmount amount = scratch.get();
+        StringBuilder out = new StringBuilder();
+
+        int errorCount = 0;
+
+        for (int i = from; i < to; ++i) {
+            CharSequence numberString = numberStrings[i];
+            ConversionError error = scan(numberString, amount);
+
+            if (error == null) {
+                out.setLength(0);
+                convertAmountToWords(amount, out);
+                results[i] = out.toString();
+                recordLatency(amount);
             } else {
-                // edge-case example 9011 is "THOUSAND AND" and not "THOUSAND, "
-                result += " AND " + leastSigTriple + " " + unit;
+                results[i] = null;
+                ++errorCount;
             }
-        } else {
-            result = chunks.get(0) + " " + unit;
+
+            if (errors != null)
+                errors[i] = error == null ? null : error.getMessage(numberString, amount.errorPosition);
+        }
+
+        return errorCount;
+    }
+
+    /**
+     * Computes the exact length of the translation of numberString without
+     * building it, by summing the lengths of its triples, scale names,
+     * separators and units. It can be used to size buffers exactly, e.g. for
+     * convertNumbersToWords(ByteBuffer, ByteBuffer).
+     *
+     * @param numberString is a non-negative real number
+     * @return convertNumbersToWords(numberString).length()
+     *
+     * @throws IllegalArgumentException if numberString is invalid
+     */
+    public static int wordLength(CharSequence numberString) {
+        ParsedAmount amount = scratch.get();
+
+        scanNumberString(numberString, amount);
+        planWords(amount);
+        recordLatency(amount);
+
+        return getPlannedLength(amount);
+    }
+
+    /**
+     * @param dollars is the integer part of the amount
+     * @param cents is the fractional part of the amount in hundredths
+     *
+     * @return the same translation convertNumbersToWords(String) gives for
+     *         dollars + "." + cents written with two digits
+     *
+     * @throws IllegalArgumentException if dollars is negative or cents is not
+     *                                  between 0 and 99 inclusive
+     */
+    public static String convertNumbersToWords(long dollars, int cents) {
+        ParsedAmount amount = scratch.get();
+
+        scanDollarsAndCents(dollars, cents, amount);
+
+        String result = convertAmountToWords(amount);
+        recordLatency(amount);
+
+        return result;
+    }
+
+    /**
+     * @param amountInCents is the whole amount in hundredths, e.g. 12345 is
+     *                      123.45
+     *
+     * @return the same translation as convertNumbersToWords(amountInCents /
+     *         100, amountInCents % 100)
+     *
+     * @throws IllegalArgumentException if amountInCents is negative
+     */
+    public static String convertNumbersToWords(long amountInCents) {
+        if (amountInCents < 0) {
+            recordCall(scratch.get());
+            throw invalidNumber(ConversionError.OUT_OF_RANGE, "amountInCents must not be negative");
         }
 
-        // if plural
-        if (!intString.equals("01") && (intString.length() > 1 || intString.charAt(0) > '1'))
-            result += "S";
+        return convertNumbersToWords(amountInCents / 100, (int) (amountInCents % 100));
+    }
+
+    /**
+     * Appends the translation of dollars and cents to out without going
+     * through a number-string; the triples are taken with arithmetic.
+     *
+     * @param dollars is the integer part of the amount
+     * @param cents is the fractional part of the amount in hundredths
+     * @param out is the buffer the translation is appended to
+     *
+     * @throws IllegalArgumentException if dollars is negative or cents is not
+     *                                  between 0 and 99 inclusive; out is left
+     *                                  untouched in that case
+     */
+    public static void convertNumbersToWords(long dollars, int cents, StringBuilder out) {
+        ParsedAmount amount = scratch.get();
+
+        scanDollarsAndCents(dollars, cents, amount);
+
+        convertAmountToWords(amount, out);
+        recordLatency(amount);
+    }
+
+    /**
+     * @param amount receives dollars in triples and cents
+     *
+     * @throws IllegalArgumentException if dollars is negative or cents is not
+     *                                  between 0 and 99 inclusive
+     */
+    private static void scanDollarsAndCents(long dollars, int cents, ParsedAmount amount) {
+        recordCall(amount);
+
+        if (dollars < 0)
+            throw invalidNumber(ConversionError.OUT_OF_RANGE, "dollars must not be negative");
+
+        if (cents < 0 || cents > 99)
+            throw invalidNumber(ConversionError.OUT_OF_RANGE, "cents must be between 0 and 99");
+
+        splitIntoTriples(dollars, amount);
+        amount.cents = cents;
+    }
+
+    /**
+     * @param amount is a non-negative real number whose integer part has at
+     *               most 64 digits
+     *
+     * @return the same translation convertNumbersToWords(String) gives for
+     *         amount.toPlainString()
+     *
+     * @throws IllegalArgumentException if amount is null, negative or too
+     *                                  large
+     */
+    public static String convertNumbersToWords(BigDecimal amount) {
+        ParsedAmount parsed = scratch.get();
+
+        scanBigDecimal(amount, parsed);
+
+        String result = convertAmountToWords(parsed);
+        recordLatency(parsed);
 
         return result;
     }
 
     /**
-     * A helper method for converting at most 3-digit number into words.
-     * 
-     * @author Irsan Winarto
-     * @param intString is a string of digits whose length is >= 1 && <= 3
-     * @return a String of the English writing of intString if intString is not
-     *         "00" or "000"; else, null is returned
-     * 
-     * @require 1 <= intString.length() <= 3 && intString is digits only
-     * 
-     * @ensure what is described in the return tag above is true
+     * @param amount is a non-negative integer with at most 64 digits
+     *
+     * @return the same translation convertNumbersToWords(String) gives for
+     *         amount.toString()
+     *
+     * @throws IllegalArgumentException if amount is null, negative or too
+     *                                  large
      */
-    private static String convertAtMostHundredsToWords(String intString) {
+    public static String convertNumbersToWords(BigInteger amount) {
+        // a null amount is rejected as a BigDecimal is
+        return convertNumbersToWords(amount == null ? null : new BigDecimal(amount));
+    }
 
-        if (intString.equals("00") || intString.equals("000"))
-            return null;
+    /**
+     * Appends the translation of amount to out. The cents are rounded with
+     * RoundingMode.HALF_UP and the triples are taken from long-sized limbs
+     * rather than from amount.toString().
+     *
+     * @param amount is a non-negative real number whose integer part has at
+     *               most 64 digits
+     * @param out is the buffer the translation is appended to
+     *
+     * @throws IllegalArgumentException if amount is null, negative or its
+     *                                  integer part exceeds 64 digits; out is
+     *                                  left untouched in that case
+     */
+    public static void convertNumbersToWords(BigDecimal amount, StringBuilder out) {
+        ParsedAmount parsed = scratch.get();
 
-        final int LENGTH = intString.length();
+        scanBigDecimal(amount, parsed);
 
-        // the English name for the first digit
-        String result = ones.get(intString.substring(LENGTH - 1, LENGTH));
+        convertAmountToWords(parsed, out);
+        recordLatency(parsed);
+    }
 
-        if (intString.length() > 1) {
-            // tens is a Map<String, String>, so secondDigit must be a String
-            String secondDigit = intString.substring(LENGTH - 2, LENGTH - 1);
+    /**
+     * @param parsed receives the integer part of amount in triples and its
+     *               fractional part rounded with RoundingMode.HALF_UP
+     *
+     * @throws IllegalArgumentException if amount is null, negative or its
+     *                                  integer part exceeds 64 digits
+     */
+    private static void scanBigDecimal(BigDecimal amount, ParsedAmount parsed) {
+        recordCall(parsed);
+
+        if (amount == null)
+            throw invalidNumber(ConversionError.NULL, "amount must not be null");
+
+        if (amount.signum() < 0)
+            throw invalidNumber(ConversionError.OUT_OF_RANGE, "amount must not be negative");
+
+        if (amount.compareTo(MAX_DECIMAL_INTEGER_PART) >= 0)
+            throw invalidNumber(
+                ConversionError.TOO_LONG,
+                "the number of digits of the integer part must not exceed " + MAX_INT_PART_LENGTH
+            );
+
+        // rounding may carry into the integer part, e.g. 0.995 becomes 1.00
+        BigInteger amountInCents = amount.setScale(2, RoundingMode.HALF_UP).unscaledValue();
+
+        if (amountInCents.bitLength() < Long.SIZE) {
+            long value = amountInCents.longValue();
 
-            if (secondDigit.equals("1")) 
-                // between "ten" to "nineteen" inclusive
-                result = tens.get(intString.substring(LENGTH - 2));
+            splitIntoTriples(value / 100, parsed);
+            parsed.cents = (int) (value % 100);
+        } else {
+            BigInteger[] dollarsAndCents = amountInCents.divideAndRemainder(BigInteger.valueOf(100));
 
-            else if (!secondDigit.equals("0")) 
-                if (!result.equals("ZERO"))
-                    // if the first digit is not "0"
-                    result = tens.get(secondDigit) + "-" + result;
-                else
-                    result = tens.get(secondDigit);
+            splitIntoTriples(dollarsAndCents[0], parsed);
+            parsed.cents = dollarsAndCents[1].intValue();
         }
+    }
 
-        if (intString.length() == 3) {
-            // ones is a Map<String, String>, so thirdDigit must be a String
-            String thirdDigit = intString.substring(0, 1);
+    /**
+     * @param value is a non-negative integer less than 10 raised to 66
+     * @param amount receives value in triples, least significant first; it
+     *               has no number-string offsets
+     */
+    private static void splitIntoTriples(BigInteger value, ParsedAmount amount) {
+        if (value.bitLength() < Long.SIZE) {
+            splitIntoTriples(value.longValue(), amount);
+            return;
+        }
+
+        int groupCount = 0;
 
-            // "000" is impossible at this point due to the check at the top
-            if (!thirdDigit.equals("0")) {
-                String hundredString = ones.get(thirdDigit) + " HUNDRED";
+        // every limb but the most significant one is exactly six triples
+        while (value.compareTo(LIMB_BASE) >= 0) {
+            BigInteger[] quotientAndLimb = value.divideAndRemainder(LIMB_BASE);
+            long limb = quotientAndLimb[1].longValue();
 
-                if (!result.equals("ZERO"))
-                    // if the first two digits are not "00"
-                    result = hundredString + " AND " + result;
-                else
-                    result = hundredString;
+            for (int i = 0; i < TRIPLES_PER_LIMB; ++i) {
+                amount.groups[groupCount++] = (int) (limb % 1000);
+                limb /= 1000;
             }
+
+            value = quotientAndLimb[0];
         }
 
-        return result;
+        long limb = value.longValue();
+
+        do {
+            amount.groups[groupCount++] = (int) (limb % 1000);
+            limb /= 1000;
+        } while (limb > 0);
+
+        amount.groupCount = groupCount;
+        amount.integerEnd = 0;
+        amount.fractionStart = -1;
+        amount.isNegative = false;
     }
 
     /**
-     * @param numberString is a non-negative real number given as a string
-     * 
-     * @return an array containing exactly two String elements:
-     *              array[0] is the integer part of numberString
-     *              array[1] is the fractional part of numberString if it exists
-     *                          or null if it doesn't exist; this is strictly 
-     *                          the number after the decimal point
-     * 
-     *                          if the fractional part exists and it is not 
-     *                          a series of '0' characters, then it will be
-     *                          rounded to two digits using standard rounding;
-     *                          else, the fractional part will be the String "0"
-     * 
-     * @require numberString has passed checkArgumentCheckHelper() check
-     * 
-     * @ensure the return value is as described in the return tag above
+     * @param value is a non-negative integer
+     * @param amount receives value in triples, least significant first; it
+     *               has no number-string offsets
+     */
+    private static void splitIntoTriples(long value, ParsedAmount amount) {
+        int groupCount = 0;
+
+        do {
+            amount.groups[groupCount++] = (int) (value % 1000);
+            value /= 1000;
+        } while (value > 0);
+
+        amount.groupCount = groupCount;
+        amount.integerEnd = 0;
+        amount.fractionStart = -1;
+        amount.isNegative = false;
+    }
+
+    /**
+     * @param amount is a scanned number
+     * @param out is the buffer the translation is appended to
+     *
+     * @ensure the Australian English translation of amount in dollars and
+     *         cents is appended to out
+     */
+    static void convertAmountToWords(ParsedAmount amount, StringBuilder out) {
+        convertAmountToWords(amount, defaultWords, out);
+    }
+
+    /**
+     * @param amount is a scanned number
+     * @param words is the compiled language of the translation
+     * @param out is the buffer the translation is appended to
+     */
+    static void convertAmountToWords(ParsedAmount amount, WordTable words, StringBuilder out) {
+        words.planWords(amount);
+
+        // grow out at most once
+        out.ensureCapacity(out.length() + words.getPlannedLength(amount));
+
+        words.appendPlannedWords(amount, out);
+    }
+
+    /**
+     * @param amount is a scanned number
+     * @return the Australian English translation of amount in dollars and
+     *         cents, built in a buffer of exactly the right size
+     */
+    static String convertAmountToWords(ParsedAmount amount) {
+        return convertAmountToWords(amount, defaultWords);
+    }
+
+    /**
+     * @param amount is a scanned number
+     * @param words is the compiled language of the translation
+     * @return the translation of amount, built in a buffer of exactly the
+     *         right size
+     */
+    static String convertAmountToWords(ParsedAmount amount, WordTable words) {
+        words.planWords(amount);
+
+        StringBuilder result = new StringBuilder(words.getPlannedLength(amount));
+        words.appendPlannedWords(amount, result);
+
+        return result.toString();
+    }
+
+    /**
+     * Works out the fragments the Australian English translation of amount
+     * is made of; see WordTable.planWords.
      */
-    private static String[] getIntegerAndFractionalParts(String numberString) {
-        final int MAX_SPLIT = 2;
+    static void planWords(ParsedAmount amount) {
+        defaultWords.planWords(amount);
+    }
 
-        // integer part in [0] and fractional part in [1]
-        String[] result = numberString.split("\\.", MAX_SPLIT);
+    /**
+     * @return the length of the translation planned in amount by planWords
+     */
+    static int getPlannedLength(ParsedAmount amount) {
+        return defaultWords.getPlannedLength(amount);
+    }
 
-        // default to null if numberString has no fractional part
-        if (result.length == 1) {
-            result = Arrays.copyOf(result, MAX_SPLIT);
-            result[1] = null;
+    /**
+     * Records a call converting numberString if the metrics are enabled,
+     * starting the clock of its latency in amount.
+     */
+    static void recordCall(CharSequence numberString, ParsedAmount amount) {
+        if (ConversionMetrics.ENABLED) {
+            ConversionMetrics.recordCall(numberString == null ? 0 : numberString.length());
+            amount.startNanos = System.nanoTime();
         }
-        
-        else {
-            // if there is only one digit in the fraction, it is in "tens"
-            if (result[1].length() == 1) {
-                result[1] = result[1] + "0";
-            }
+    }
 
-            // round the fractional part to two integer digits or round to "0"
-            else if (result[1].length() > 2) {
-                String frac = result[1].substring(0, 2) + "." + result[1].charAt(2);
-                result[1] = String.valueOf(Math.round(Float.valueOf(frac)));
-            }
-            
-            if (result[1].equals("00")) {
-                result[1] = "0";
-            }
+    /**
+     * The same as recordCall(CharSequence, ParsedAmount) for a number given
+     * as a long, BigDecimal or BigInteger.
+     */
+    private static void recordCall(ParsedAmount amount) {
+        if (ConversionMetrics.ENABLED) {
+            ConversionMetrics.recordCall();
+            amount.startNanos = System.nanoTime();
         }
+    }
 
-        return result;
+    /**
+     * Records the latency of the successful conversion whose call was
+     * recorded in amount if the metrics are enabled.
+     */
+    static void recordLatency(ParsedAmount amount) {
+        if (ConversionMetrics.ENABLED)
+            ConversionMetrics.recordLatency(System.nanoTime() - amount.startNanos);
     }
 
     /**
-     * @param numberString the number-string to be checked
+     * Validates numberString and splits it into its integer and fractional
+     * parts, all in a single pass over its characters.
+     *
+     * @param numberString the number-string to be scanned
+     * @param amount receives what scan(numberString, amount) gives
      * 
      * @throws IllegalArgumentException 
      *              if 1. numberString is not a valid non-negative real number
      *              or 2. numberString begins or ends with a '.' character
      *              or 3. the integer part exceeds 64 digits (vigintillion)
      */
-    private static void checkArgumentHelper(String numberString) 
+    static void scanNumberString(CharSequence numberString, ParsedAmount amount) 
         throws IllegalArgumentException {
 
+        scanNumberString(numberString, amount, 2);
+    }
+
+    /**
+     * The same as scanNumberString(CharSequence, ParsedAmount), but the
+     * fractional part is rounded to minorDigits digits rather than to cents.
+     *
+     * @require 0 <= minorDigits <= 3
+     */
+    static void scanNumberString(CharSequence numberString, ParsedAmount amount, int minorDigits) 
+        throws IllegalArgumentException {
+
+        ConversionError error = scan(numberString, amount, minorDigits);
+
+        if (error != null)
+            throw new IllegalArgumentException(error.getMessage(numberString, amount.errorPosition));
+    }
+
+    /**
+     * The same as scanNumberString, but an invalid numberString is reported
+     * rather than thrown, so that rejecting it allocates nothing.
+     *
+     * @param numberString the number-string to be scanned
+     * @param amount receives the positions of the integer and fractional
+     *               parts, the integer part in triples and the fractional
+     *               part rounded to two digits using standard rounding; a
+     *               fractional part rounding up to 100 cents is carried into
+     *               the integer part. If numberString is invalid, it
+     *               receives the position of the offending character in
+     *               errorPosition instead
+     * @return null if numberString is valid, or else the reason it is not
+     */
+    static ConversionError scan(CharSequence numberString, ParsedAmount amount) {
+        return scan(numberString, amount, 2);
+    }
+
+    /**
+     * The same as scan(CharSequence, ParsedAmount), but the fractional part
+     * is rounded to minorDigits digits, e.g. to 0 for the yen, and kept in
+     * amount.cents.
+     *
+     * @require 0 <= minorDigits <= 3
+     */
+    static ConversionError scan(CharSequence numberString, ParsedAmount amount, int minorDigits) {
+        recordCall(numberString, amount);
+
         if (numberString == null) 
-            throw new IllegalArgumentException("numberString must not be null");
- 
-        if (numberString.equals(""))
-            throw new IllegalArgumentException("numberString must not be an empty string");
+            return invalid(ConversionError.NULL, 0, amount);
 
-        if (numberString.startsWith("."))
-            throw new IllegalArgumentException("numberString must not begin with the decimal point");
+        amount.isNegative = false;
 
-        if (numberString.endsWith("."))
-            throw new IllegalArgumentException("numberString must not end with the decimal point");
+        return scan(numberString, 0, numberString.length(), amount, minorDigits);
+    }
+
+    /**
+     * The same as scan(CharSequence, ParsedAmount, int), but numberString may
+     * also be a negative amount written as "-125.40", "(125.40)" or
+     * "125.40CR", which is scanned as 125.40 with amount.isNegative set. A
+     * zero amount is never negative.
+     *
+     * @require 0 <= minorDigits <= 3
+     */
+    static ConversionError scanSigned(CharSequence numberString, ParsedAmount amount, int minorDigits) {
+        recordCall(numberString, amount);
+
+        if (numberString == null) 
+            return invalid(ConversionError.NULL, 0, amount);
+
+        final int LENGTH = numberString.length();
+
+        int from = 0;
+        int to = LENGTH;
+        boolean isNegative = true;
+
+        if (LENGTH > 0 && numberString.charAt(0) == '-') {
+            from = 1;
+        } else if (LENGTH > 0 && numberString.charAt(0) == '(') {
+            // an unmatched '(' is an invalid character
+            if (numberString.charAt(LENGTH - 1) != ')')
+                return invalid(ConversionError.INVALID_CHAR, 0, amount);
+
+            from = 1;
+            to = LENGTH - 1;
+        } else if (LENGTH > 2 && numberString.charAt(LENGTH - 2) == 'C' && numberString.charAt(LENGTH - 1) == 'R') {
+            to = LENGTH - 2;
+        } else {
+            isNegative = false;
+        }
+
+        ConversionError error = scan(numberString, from, to, amount, minorDigits);
+
+        amount.isNegative = error == null && isNegative && !amount.isZero();
+
+        return error;
+    }
+
+    /**
+     * Scans numberString in [FROM, TO) as described in scan(CharSequence,
+     * ParsedAmount, int); the error positions are in the whole numberString.
+     */
+    private static ConversionError scan(CharSequence numberString, final int FROM, final int TO, ParsedAmount amount,
+                                        int minorDigits) {
+        if (TO == FROM)
+            return invalid(ConversionError.EMPTY, FROM, amount);
+
+        if (numberString.charAt(FROM) == '.')
+            return invalid(ConversionError.LEADING_DOT, FROM, amount);
+
+        if (numberString.charAt(TO - 1) == '.')
+            return invalid(ConversionError.TRAILING_DOT, TO - 1, amount);
  
-        if (numberString.startsWith("0") && numberString.length() > 1 && numberString.charAt(1) != '.')
-            throw new IllegalArgumentException(
-                "numberString must not be prefixed with a zero or zeroes, unless it is 0 or decimals such as 0.00 or " +
-                "or 0.0809 or 0.3847382, etc"
-            );
+        if (numberString.charAt(FROM) == '0' && TO - FROM > 1 && numberString.charAt(FROM + 1) != '.')
+            return invalid(ConversionError.LEADING_ZERO, FROM, amount);
 
+        // the position of the decimal point, or TO if there is none
+        int dotIndex = TO;
+        // the first minorDigits digits of the fractional part
+        int cents = 0;
+        // true if the digit after them is 5 or more
+        boolean isRoundingUp = false;
 
-        // the number of decimal points in numberString
-        int dotCount = 0;
-        // the number of digits in the integer part of numberString
-        int intLength = 0;
+        for (int i = FROM; i < TO; ++i) {
+            char c = numberString.charAt(i);
 
-        for (char c : numberString.toCharArray()) {
+            if (c >= '0' && c <= '9') {
+                if (dotIndex == TO) {
+                    // c is in the integer part
+                    if (i - FROM + 1 > MAX_INT_PART_LENGTH)
+                        return invalid(ConversionError.TOO_LONG, i, amount);
+                } else {
+                    // c is in the fractional part; every digit after the
+                    // rounding digit is ignored
+                    final int FRACTION_INDEX = i - dotIndex - 1;
 
-            if (! Character.isDigit(c)) {
-                if (c != '.') {
-                    throw new IllegalArgumentException("numberString contains an invalid character " + c);
-                } else if (++dotCount > 1) {
-                    throw new IllegalArgumentException("numberString contains multiple decimal points");
+                    if (FRACTION_INDEX < minorDigits)
+                        cents = cents * 10 + (c - '0');
+                    else if (FRACTION_INDEX == minorDigits && c >= '5')
+                        // round half up on the digit after the minor digits
+                        isRoundingUp = true;
                 }
+            } else if (c != '.') {
+                return invalid(ConversionError.INVALID_CHAR, i, amount);
+            } else if (dotIndex != TO) {
+                return invalid(ConversionError.MULTIPLE_DOTS, i, amount);
+            } else {
+                dotIndex = i;
             }
-            // c is now a digit; dotCount checks whether a decimal point has been reached
-            else if (dotCount == 0 && ++intLength > MAX_INT_PART_LENGTH) {
-                throw new IllegalArgumentException(
-                    "the number of digits of the integer part must not exceed " + MAX_INT_PART_LENGTH
-                );
-            }
         }
+
+        amount.integerEnd = dotIndex;
+        amount.fractionStart = dotIndex < TO ? dotIndex + 1 : -1;
+
+        // split the integer part into triples, least significant first
+        int groupCount = 0;
+        for (int upperIndex = dotIndex; upperIndex > FROM; upperIndex -= 3) {
+            int value = 0;
+
+            for (int i = Math.max(upperIndex - 3, FROM); i < upperIndex; ++i)
+                value = value * 10 + (numberString.charAt(i) - '0');
+
+            amount.groups[groupCount++] = value;
+        }
+        amount.groupCount = groupCount;
+
+        setMinorUnits(amount, cents, dotIndex < TO ? TO - dotIndex - 1 : 0, minorDigits, isRoundingUp);
+
+        return null;
+    }
+
+    /**
+     * Sets amount.cents from the leading digits of a fractional part,
+     * carrying a rounding up to a whole major unit into the integer part.
+     *
+     * @param amount holds the integer part in triples
+     * @param digits is the value of the first min(fractionLength,
+     *               minorDigits) digits of the fractional part
+     * @param fractionLength is the number of digits of the fractional part
+     * @param isRoundingUp is true if the digit after the minor digits is 5
+     *                     or more
+     */
+    static void setMinorUnits(ParsedAmount amount, int digits, int fractionLength, int minorDigits,
+                              boolean isRoundingUp) {
+        // pad a short fractional part, e.g. ".5" is 50 cents
+        for (int i = fractionLength; i < minorDigits; ++i)
+            digits *= 10;
+
+        if (isRoundingUp && ++digits == minorUnitsPerMajorUnit[minorDigits]) {
+            amount.incrementIntegerPart();
+            digits = 0;
+        }
+        amount.cents = digits;
+    }
+
+    /**
+     * @return reason, after keeping position in amount and counting reason
+     *         in the metrics if they are enabled
+     */
+    static ConversionError invalid(ConversionError reason, int position, ParsedAmount amount) {
+        if (ConversionMetrics.ENABLED)
+            ConversionMetrics.recordFailure(reason);
+
+        amount.errorPosition = position;
+
+        return reason;
+    }
+
+    /**
+     * The same as invalid(ConversionError, int, ParsedAmount) for an amount
+     * given as a long, BigDecimal or BigInteger, which has no position.
+     *
+     * @return the exception to be thrown with message
+     */
+    private static IllegalArgumentException invalidNumber(ConversionError reason, String message) {
+        if (ConversionMetrics.ENABLED)
+            ConversionMetrics.recordFailure(reason);
+
+        return new IllegalArgumentException(message);
     }
 
     /**
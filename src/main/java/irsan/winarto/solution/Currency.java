@@ -0,0 +1,109 @@
+package irsan.winarto.solution;
+
+
+/**
+ * The units an amount is written in: the ISO 4217 code, the singular and
+ * plural names of the major and minor units, which may be irregular such as
+ * "PENNY" and "PENCE", and the number of digits of the minor unit, e.g. 2 for
+ * cents, 0 for the yen and 3 for the fils. The names are compiled together
+ * with a Language into the same flat tables as its words the first time the
+ * pair is used, so a currency is meant to be created once and reused.
+ *
+ * @author Irsan Winarto
+ */
+public final class Currency {
+    // the largest number of minor digits, so that the minor part is a triple
+    private final static int MAX_MINOR_DIGITS = 3;
+
+    public final static Currency AUD = new Currency("AUD", "DOLLAR", "DOLLARS", "CENT", "CENTS", 2);
+    public final static Currency USD = new Currency("USD", "DOLLAR", "DOLLARS", "CENT", "CENTS", 2);
+    public final static Currency EUR = new Currency("EUR", "EURO", "EUROS", "CENT", "CENTS", 2);
+    public final static Currency GBP = new Currency("GBP", "POUND", "POUNDS", "PENNY", "PENCE", 2);
+    public final static Currency JPY = new Currency("JPY", "YEN", "YEN", "SEN", "SEN", 0);
+    public final static Currency KWD = new Currency("KWD", "DINAR", "DINARS", "FIL", "FILS", 3);
+
+    private final String code;
+    private final String majorSingular;
+    private final String majorPlural;
+    private final String minorSingular;
+    private final String minorPlural;
+    private final int minorDigits;
+
+    /**
+     * @param code is the ISO 4217 code, e.g. "GBP"
+     * @param majorSingular is the major unit for 0 and 1, e.g. "POUND"
+     * @param majorPlural is the major unit for the rest, e.g. "POUNDS"
+     * @param minorSingular is the minor unit for 1, e.g. "PENNY"
+     * @param minorPlural is the minor unit for the rest, e.g. "PENCE"
+     * @param minorDigits is the number of digits of the minor unit
+     *
+     * @throws IllegalArgumentException if any name is null or minorDigits is
+     *                                  not between 0 and 3 inclusive
+     */
+    public Currency(String code, String majorSingular, String majorPlural, String minorSingular, String minorPlural,
+                    int minorDigits) {
+        if (code == null || majorSingular == null || majorPlural == null || minorSingular == null ||
+            minorPlural == null)
+            throw new IllegalArgumentException("the code and the names of a currency must not be null");
+
+        if (minorDigits < 0 || minorDigits > MAX_MINOR_DIGITS)
+            throw new IllegalArgumentException("minorDigits must be between 0 and " + MAX_MINOR_DIGITS);
+
+        this.code = code;
+        this.majorSingular = majorSingular;
+        this.majorPlural = majorPlural;
+        this.minorSingular = minorSingular;
+        this.minorPlural = minorPlural;
+        this.minorDigits = minorDigits;
+    }
+
+    /**
+     * @return the ISO 4217 code
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return the name of the major unit in the given number
+     */
+    public String getMajorUnit(boolean isPlural) {
+        return isPlural ? majorPlural : majorSingular;
+    }
+
+    /**
+     * @return the name of the minor unit in the given number
+     */
+    public String getMinorUnit(boolean isPlural) {
+        return isPlural ? minorPlural : minorSingular;
+    }
+
+    /**
+     * @return the number of digits of the minor unit, 0 <= result <= 3
+     */
+    public int getMinorDigits() {
+        return minorDigits;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Currency))
+            return false;
+
+        Currency that = (Currency) other;
+
+        return code.equals(that.code) && minorDigits == that.minorDigits &&
+               majorSingular.equals(that.majorSingular) && majorPlural.equals(that.majorPlural) &&
+               minorSingular.equals(that.minorSingular) && minorPlural.equals(that.minorPlural);
+    }
+
+    @Override
+    public int hashCode() {
+        return code.hashCode() * 31 + minorDigits;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
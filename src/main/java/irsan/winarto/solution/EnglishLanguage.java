@@ -0,0 +1,154 @@
+package irsan.winarto.solution;
+
+
+/**
+ * English in capitals, either British (which Australia follows) with "AND"
+ * after the hundreds and commas between the powers of 1000, e.g.
+ * "ONE THOUSAND, TWO HUNDRED AND FIVE DOLLARS", or American without either,
+ * e.g. "ONE THOUSAND TWO HUNDRED FIVE DOLLARS"; and using either the short
+ * scale, where a billion is 10 raised to 9, or the long scale, where a
+ * billion is 10 raised to 12 and 10 raised to 9 is a thousand million.
+ *
+ * @author Irsan Winarto
+ */
+public final class EnglishLanguage extends Language {
+    // the default language of ConvertNumbersToWords
+    public final static EnglishLanguage AUSTRALIAN = new EnglishLanguage(true, false);
+    public final static EnglishLanguage AMERICAN = new EnglishLanguage(false, false);
+    public final static EnglishLanguage BRITISH_LONG_SCALE = new EnglishLanguage(true, true);
+
+    // "dictionaries" for translating ones and tens, indexed by digit value
+    private final static String[] ones = {
+        "ZERO", "ONE", "TWO", "THREE", "FOUR", "FIVE", "SIX", "SEVEN", "EIGHT", "NINE"
+    };
+    private final static String[] teens = {
+        "TEN", "ELEVEN", "TWELVE", "THIRTEEN", "FOURTEEN", "FIFTEEN", "SIXTEEN",
+        "SEVENTEEN", "EIGHTEEN", "NINETEEN"
+    };
+    // '0' and '1' are deliberately excluded; see teens for the latter
+    private final static String[] tens = {
+        null, null, "TWENTY", "THIRTY", "FORTY", "FIFTY", "SIXTY", "SEVENTY",
+        "EIGHTY", "NINETY"
+    };
+
+    // invariance: powers of 1000 in the ascending order starting from 0 power
+    //             on the short scale; on the long scale, the even powers from
+    //             2 upwards are named after [2], [3], [4], etc. in turn
+    private final static String[] scaleNames = {
+        "", "THOUSAND", "MILLION", "BILLION", "TRILLION", "QUADRILLION", 
+        "QUINTILLION", "SEXTILLION", "SEPTILLION", "OCTILLION", "NONILLION",
+        "DECILLION", "UNDECILLION", "DUODECILLION", "TREDECILLION", 
+        "QUATTUORDECILLION", "QUINDECILLION", "SEXDECILLION", "SEPTENDECILLION",
+        "OCTODECILLION", "NOVEMDECILLION", "VIGINTILLION"
+    };
+
+    private final boolean isBritish;
+    private final boolean isLongScale;
+
+    /**
+     * @param isBritish is true for "AND" after the hundreds and commas
+     *                  between the powers of 1000
+     * @param isLongScale is true for the long scale
+     */
+    public EnglishLanguage(boolean isBritish, boolean isLongScale) {
+        this.isBritish = isBritish;
+        this.isLongScale = isLongScale;
+    }
+
+    /**
+     * A helper method for converting at most 3-digit number into words.
+     * 
+     * @author Irsan Winarto
+     * @param value is a number such that 0 <= value <= 999
+     * @return a String of the English writing of value
+     * 
+     * @require 0 <= value <= 999
+     * 
+     * @ensure what is described in the return tag above is true
+     */
+    @Override
+    protected String getTripleWords(int value, int scaleIndex) {
+        final int HUNDREDS = value / 100;
+        final int REST = value % 100;
+
+        String result;
+
+        if (REST < 10)
+            result = ones[REST];
+        else if (REST < 20)
+            // between "ten" to "nineteen" inclusive
+            result = teens[REST - 10];
+        else if (REST % 10 != 0)
+            result = tens[REST / 10] + "-" + ones[REST % 10];
+        else
+            result = tens[REST / 10];
+
+        if (HUNDREDS > 0) {
+            String hundredString = ones[HUNDREDS] + " HUNDRED";
+
+            if (REST != 0)
+                // if the last two digits are not "00"
+                result = hundredString + (isBritish ? " AND " : " ") + result;
+            else
+                result = hundredString;
+        }
+
+        return result;
+    }
+
+    @Override
+    protected String getScaleWords(int scaleIndex, boolean isPlural, boolean isNextGroupZero) {
+        if (!isLongScale)
+            return " " + scaleNames[scaleIndex];
+
+        if (scaleIndex % 2 == 0)
+            return " " + scaleNames[scaleIndex / 2 + 1];
+
+        // an odd power from 3 upwards is a thousand of the power below it,
+        // e.g. 10 raised to 9 is "THOUSAND MILLION", but 234,567 million is
+        // "THOUSAND" and then "MILLION" after the next triple
+        if (scaleIndex == 1 || !isNextGroupZero)
+            return " THOUSAND";
+
+        return " THOUSAND " + scaleNames[(scaleIndex - 1) / 2 + 1];
+    }
+
+    @Override
+    protected String getGroupSeparator(int scaleIndex, boolean isNextGroupZero, boolean isBeforeLastSmallGroup) {
+        if (isBritish && isBeforeLastSmallGroup)
+            // edge-case example 9011 is "THOUSAND AND" and not "THOUSAND, "
+            return " AND ";
+
+        // the two triples of one power of a million on the long scale
+        if (isLongScale && scaleIndex >= 3 && scaleIndex % 2 == 1 && !isNextGroupZero)
+            return " ";
+
+        // put a ", " after every power of 1000
+        return isBritish ? ", " : " ";
+    }
+
+    /**
+     * @return one name per combination of the settings, so that every
+     *         English language uses the tables written at build time
+     */
+    @Override
+    String getPrecompiledName() {
+        // String.concat, since the bootstrap of + would delay the first
+        // translation in a new JVM
+        return "english".concat(isBritish ? "-british" : "-american").concat(isLongScale ? "-long" : "-short");
+    }
+
+    @Override
+    protected String getMinorSeparator() {
+        return " AND ";
+    }
+
+    /**
+     * @return Australian dollars for British English and American dollars
+     *         for American English
+     */
+    @Override
+    public Currency getDefaultCurrency() {
+        return isBritish ? Currency.AUD : Currency.USD;
+    }
+}
@@ -0,0 +1,119 @@
+package irsan.winarto.solution;
+
+
+/**
+ * French in capitals on the long scale with the traditional hyphens, i.e.
+ * only between the tens and the ones, e.g. 2,000,280.71 is
+ * "DEUX MILLIONS DEUX CENT QUATRE-VINGTS DOLLARS ET SOIXANTE ET ONZE CENTS".
+ * "CENT" and "VINGT" take an "S" when they end a number that is not followed
+ * by "MILLE", and "DE" or "D'" comes between a million or upwards and the
+ * unit.
+ *
+ * @author Irsan Winarto
+ */
+public final class FrenchLanguage extends Language {
+    public final static FrenchLanguage INSTANCE = new FrenchLanguage();
+
+    public final static Currency USD = new Currency("USD", "DOLLAR", "DOLLARS", "CENT", "CENTS", 2);
+    public final static Currency EUR = new Currency("EUR", "EURO", "EUROS", "CENTIME", "CENTIMES", 2);
+
+    private final static String[] belowTwenty = {
+        "ZÉRO", "UN", "DEUX", "TROIS", "QUATRE", "CINQ", "SIX", "SEPT", "HUIT", "NEUF",
+        "DIX", "ONZE", "DOUZE", "TREIZE", "QUATORZE", "QUINZE", "SEIZE", "DIX-SEPT",
+        "DIX-HUIT", "DIX-NEUF"
+    };
+    // 70 and 90 are written as 60 and 80 followed by 10 to 19
+    private final static String[] tens = {
+        null, null, "VINGT", "TRENTE", "QUARANTE", "CINQUANTE", "SOIXANTE", "SOIXANTE",
+        "QUATRE-VINGT", "QUATRE-VINGT"
+    };
+
+    // the stems of the powers of a million in the ascending order from 1;
+    // 10 raised to 6n is the "-LLION" and 10 raised to 6n + 3 the "-LLIARD"
+    private final static String[] stems = {
+        "MI", "BI", "TRI", "QUADRI", "QUINTI", "SEXTI", "SEPTI", "OCTI", "NONI", "DÉCI"
+    };
+
+    private FrenchLanguage() {
+    }
+
+    @Override
+    protected String getTripleWords(int value, int scaleIndex) {
+        // "MILLE" rather than "UN MILLE"; see getScaleWords
+        if (value == 1 && scaleIndex == 1)
+            return "";
+
+        // "MILLE" is an adjective, so it takes away the "S" of "CENTS" and
+        // "QUATRE-VINGTS" in front of it, whereas "MILLION" is a noun
+        final boolean IS_FINAL = scaleIndex != 1;
+        final int HUNDREDS = value / 100;
+        final int REST = value % 100;
+
+        if (HUNDREDS == 0)
+            return convertBelowHundredToWords(REST, IS_FINAL);
+
+        String hundredString = HUNDREDS == 1 ? "CENT" : belowTwenty[HUNDREDS] + " CENT";
+
+        if (REST == 0)
+            return HUNDREDS > 1 && IS_FINAL ? hundredString + "S" : hundredString;
+
+        return hundredString + " " + convertBelowHundredToWords(REST, IS_FINAL);
+    }
+
+    private static String convertBelowHundredToWords(int value, boolean isFinal) {
+        if (value < 20)
+            return belowTwenty[value];
+
+        final int TENS = value / 10;
+        // 70 to 79 and 90 to 99 count on from 60 and 80 with 10 to 19
+        final int ONES = TENS == 7 || TENS == 9 ? value % 20 : value % 10;
+
+        if (ONES == 0)
+            return TENS == 8 && isFinal ? "QUATRE-VINGTS" : tens[TENS];
+
+        // "ET" joins a one or an eleven to the tens, except after 80
+        if ((ONES == 1 || ONES == 11) && TENS != 8 && TENS != 9)
+            return tens[TENS] + " ET " + belowTwenty[ONES];
+
+        return tens[TENS] + "-" + belowTwenty[ONES];
+    }
+
+    @Override
+    protected String getScaleWords(int scaleIndex, boolean isPlural, boolean isNextGroupZero) {
+        if (scaleIndex == 1)
+            // "MILLE" is written without a triple in front of it for 1000
+            return isPlural ? " MILLE" : "MILLE";
+
+        String stem = stems[scaleIndex / 2 - 1];
+        String name = stem + (scaleIndex % 2 == 0 ? "LLION" : "LLIARD");
+
+        return " " + (isPlural ? name + "S" : name);
+    }
+
+    @Override
+    protected String getGroupSeparator(int scaleIndex, boolean isNextGroupZero, boolean isBeforeLastSmallGroup) {
+        return " ";
+    }
+
+    @Override
+    protected String getUnitWords(String unit, boolean isAfterLargeScale) {
+        if (!isAfterLargeScale)
+            return " " + unit;
+
+        // "UN MILLION DE DOLLARS" but "UN MILLION D'EUROS"
+        return "AEIOUÉ".indexOf(unit.isEmpty() ? ' ' : unit.charAt(0)) >= 0 ? " D'" + unit : " DE " + unit;
+    }
+
+    @Override
+    protected String getMinorSeparator() {
+        return " ET ";
+    }
+
+    /**
+     * @return American dollars
+     */
+    @Override
+    public Currency getDefaultCurrency() {
+        return USD;
+    }
+}
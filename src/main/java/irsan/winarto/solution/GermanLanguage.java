@@ -0,0 +1,99 @@
+package irsan.winarto.solution;
+
+
+/**
+ * German in capitals on the long scale, with the numbers below a million
+ * written as one word, e.g. 2,501,021.01 is
+ * "ZWEI MILLIONEN FÜNFHUNDERTEINTAUSENDEINUNDZWANZIG DOLLAR UND EIN CENT".
+ * "SS" stands for "ß" as usual in capitals.
+ *
+ * @author Irsan Winarto
+ */
+public final class GermanLanguage extends Language {
+    public final static GermanLanguage INSTANCE = new GermanLanguage();
+
+    // "ZWEI DOLLAR" and "ZWEI CENT"
+    public final static Currency USD = new Currency("USD", "DOLLAR", "DOLLAR", "CENT", "CENT", 2);
+    public final static Currency EUR = new Currency("EUR", "EURO", "EURO", "CENT", "CENT", 2);
+
+    // "EIN" rather than "EINS" since every number is followed by a unit
+    private final static String[] ones = {
+        "", "EIN", "ZWEI", "DREI", "VIER", "FÜNF", "SECHS", "SIEBEN", "ACHT", "NEUN"
+    };
+    private final static String[] teens = {
+        "ZEHN", "ELF", "ZWÖLF", "DREIZEHN", "VIERZEHN", "FÜNFZEHN", "SECHZEHN",
+        "SIEBZEHN", "ACHTZEHN", "NEUNZEHN"
+    };
+    private final static String[] tens = {
+        null, null, "ZWANZIG", "DREISSIG", "VIERZIG", "FÜNFZIG", "SECHZIG", "SIEBZIG",
+        "ACHTZIG", "NEUNZIG"
+    };
+
+    // the stems of the powers of a million in the ascending order from 1;
+    // 10 raised to 6n is the "-LLION" and 10 raised to 6n + 3 the "-LLIARDE"
+    private final static String[] stems = {
+        "MI", "BI", "TRI", "QUADRI", "QUINTI", "SEXTI", "SEPTI", "OKTI", "NONI", "DEZI"
+    };
+
+    private GermanLanguage() {
+    }
+
+    @Override
+    protected String getTripleWords(int value, int scaleIndex) {
+        if (value == 0)
+            return "NULL";
+
+        // "MILLION" and upwards are feminine nouns
+        if (value == 1 && scaleIndex >= 2)
+            return "EINE";
+
+        final int HUNDREDS = value / 100;
+        final int REST = value % 100;
+
+        String result;
+
+        if (REST < 10)
+            result = ones[REST];
+        else if (REST < 20)
+            result = teens[REST - 10];
+        else if (REST % 10 != 0)
+            // the ones come before the tens, e.g. "EINUNDZWANZIG"
+            result = ones[REST % 10] + "UND" + tens[REST / 10];
+        else
+            result = tens[REST / 10];
+
+        return HUNDREDS > 0 ? ones[HUNDREDS] + "HUNDERT" + result : result;
+    }
+
+    @Override
+    protected String getScaleWords(int scaleIndex, boolean isPlural, boolean isNextGroupZero) {
+        if (scaleIndex == 1)
+            return "TAUSEND";
+
+        String stem = stems[scaleIndex / 2 - 1];
+
+        if (scaleIndex % 2 == 0)
+            return " " + stem + (isPlural ? "LLIONEN" : "LLION");
+
+        return " " + stem + (isPlural ? "LLIARDEN" : "LLIARDE");
+    }
+
+    @Override
+    protected String getGroupSeparator(int scaleIndex, boolean isNextGroupZero, boolean isBeforeLastSmallGroup) {
+        // the thousands are part of the same word
+        return scaleIndex == 1 ? "" : " ";
+    }
+
+    @Override
+    protected String getMinorSeparator() {
+        return " UND ";
+    }
+
+    /**
+     * @return American dollars, whose units have no plural in German
+     */
+    @Override
+    public Currency getDefaultCurrency() {
+        return USD;
+    }
+}
@@ -0,0 +1,152 @@
+package irsan.winarto.solution;
+
+import java.util.Arrays;
+
+
+/**
+ * The words of one language that translations are put together from. A
+ * translation is written as a sequence of fragments: the words of every
+ * triple that is not "000", each followed by the name of its power of 1000
+ * and separated from the next one, then the major unit and, if there are any
+ * cents, a separator, the cents and the minor unit. A language supplies
+ * every fragment below, including the spaces around it, while the units are
+ * named by a Currency. They are compiled into flat tables the first time the
+ * language is used with a currency, so that translating in any language and
+ * currency costs the same as in Australian English and dollars.
+ *
+ * A number of the form "Ta, Tb, ..., Tz" in triples is written as
+ *
+ *      getTripleWords(Ta, a) getScaleWords(a, ...) getGroupSeparator(a, ...)
+ *      getTripleWords(Tb, b) getScaleWords(b, ...) ...
+ *      getTripleWords(Tz, z) getUnitWords(...)
+ *
+ * with the fragments written back to back, where a, b, ..., z are the scale
+ * indices, i.e. the powers of 1000, of the triples and triples of "000" are
+ * skipped. The scale index goes up to 21, i.e. 10 raised to 63.
+ *
+ * The methods below are only called while the tables are compiled and must
+ * not return null.
+ *
+ * @author Irsan Winarto
+ */
+public abstract class Language {
+    // compiled on first use; a race compiles equal tables twice at worst
+    private volatile WordTable wordTable;
+    // the tables for every other currency used with this language so far
+    private volatile WordTable[] currencyWordTables = new WordTable[0];
+
+    /**
+     * @param value is the value of a triple, 0 <= value <= 999; 0 is only
+     *              asked for with scaleIndex 0, for a zero amount
+     * @param scaleIndex is the power of 1000 the triple is multiplied by;
+     *                   the cents are written with scaleIndex 0
+     * @return the words of value as written in front of the name of
+     *         scaleIndex, e.g. "ONE HUNDRED AND FIVE"
+     */
+    protected abstract String getTripleWords(int value, int scaleIndex);
+
+    /**
+     * @param scaleIndex is a power of 1000, 1 <= scaleIndex <= 21
+     * @param isPlural is false if the triple in front of it is 1
+     * @param isNextGroupZero is true if the triple of scaleIndex - 1 is "000"
+     * @return the name of the power of 1000 including the space before it,
+     *         e.g. " THOUSAND"
+     */
+    protected abstract String getScaleWords(int scaleIndex, boolean isPlural, boolean isNextGroupZero);
+
+    /**
+     * @param scaleIndex is the power of 1000 of the triple just written,
+     *                   1 <= scaleIndex <= 21
+     * @param isNextGroupZero is true if the triple of scaleIndex - 1 is "000"
+     * @param isBeforeLastSmallGroup is true if the next triple written is the
+     *                               last one and is less than 100
+     * @return what is written between the name of scaleIndex and the next
+     *         triple, e.g. ", " or " AND "
+     */
+    protected abstract String getGroupSeparator(int scaleIndex, boolean isNextGroupZero,
+                                                boolean isBeforeLastSmallGroup);
+
+    /**
+     * @param unit is the name of a major or minor unit, e.g. "DOLLARS"
+     * @param isAfterLargeScale is true if the number in front of unit ends
+     *                          with the name of a power of 1000 from a
+     *                          million upwards
+     * @return unit including what is written between it and the number in
+     *         front of it; " " + unit unless overridden
+     */
+    protected String getUnitWords(String unit, boolean isAfterLargeScale) {
+        return " " + unit;
+    }
+
+    /**
+     * @return what is written between the major unit and the cents, e.g.
+     *         " AND "
+     */
+    protected abstract String getMinorSeparator();
+
+    /**
+     * @return the currency amounts are written in when no currency is given
+     */
+    public abstract Currency getDefaultCurrency();
+
+    /**
+     * @return the compiled tables of this language and its default currency
+     */
+    final WordTable getWordTable() {
+        WordTable result = wordTable;
+
+        if (result == null)
+            wordTable = result = compileWordTable();
+
+        return result;
+    }
+
+    /**
+     * @return the tables of this language and its default currency, read
+     *         from those written at build time if there are any
+     */
+    WordTable compileWordTable() {
+        WordTable result = PrecompiledWordTables.load(this);
+
+        return result != null ? result : new WordTable(this, getDefaultCurrency());
+    }
+
+    /**
+     * @return the name the tables of this language and its default currency
+     *         are written at build time under, or null if they are not
+     */
+    String getPrecompiledName() {
+        return null;
+    }
+
+    /**
+     * @return the compiled tables of this language and currency; the words
+     *         of the numbers are shared with every other currency
+     */
+    final WordTable getWordTable(Currency currency) {
+        WordTable base = getWordTable();
+
+        if (currency.equals(base.currency))
+            return base;
+
+        for (WordTable table : currencyWordTables)
+            if (currency.equals(table.currency))
+                return table;
+
+        synchronized (this) {
+            WordTable[] tables = currencyWordTables;
+
+            for (WordTable table : tables)
+                if (currency.equals(table.currency))
+                    return table;
+
+            WordTable result = new WordTable(base, this, currency);
+
+            tables = Arrays.copyOf(tables, tables.length + 1);
+            tables[tables.length - 1] = result;
+            currencyWordTables = tables;
+
+            return result;
+        }
+    }
+}
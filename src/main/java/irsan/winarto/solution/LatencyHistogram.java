@@ -0,0 +1,108 @@
+package irsan.winarto.solution;
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A concurrent log-linear histogram of non-negative values such as latencies
+ * in nanoseconds, in the style of HdrHistogram: every power of two is split
+ * into SUB_BUCKETS equal buckets, so a recorded value is reported with a
+ * relative error of at most 1 / SUB_BUCKETS. Every bucket is a LongAdder,
+ * so recording from many threads does not contend on one counter.
+ *
+ * @author Irsan Winarto
+ */
+final class LatencyHistogram {
+    // invariance: a power of two
+    private final static int SUB_BUCKETS = 8;
+    private final static int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+    // values below SUB_BUCKETS have a bucket each; the powers of two from
+    // SUB_BUCKETS up to 2 raised to 62 have SUB_BUCKETS buckets each
+    final static int BUCKET_COUNT = (Long.SIZE - 1 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; ++i)
+            buckets[i] = new LongAdder();
+    }
+
+    /**
+     * @param value is a value to be recorded; a negative value counts as 0
+     */
+    void record(long value) {
+        buckets[getBucketIndex(Math.max(value, 0))].increment();
+    }
+
+    /**
+     * @return the number of values recorded in each bucket
+     */
+    long[] getCounts() {
+        long[] counts = new long[BUCKET_COUNT];
+
+        for (int i = 0; i < BUCKET_COUNT; ++i)
+            counts[i] = buckets[i].sum();
+
+        return counts;
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets)
+            bucket.reset();
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        // the position of the highest bit, which is at least SUB_BUCKET_BITS
+        final int EXPONENT = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int SUB_BUCKET = (int) (value >>> (EXPONENT - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + SUB_BUCKET;
+    }
+
+    /**
+     * @return the largest value recorded in the bucket at index
+     */
+    static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+
+        final int EXPONENT = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long SUB_BUCKET = index % SUB_BUCKETS;
+        final long WIDTH = 1L << (EXPONENT - SUB_BUCKET_BITS);
+
+        // the last bucket ends at Long.MAX_VALUE
+        return ((SUB_BUCKETS + SUB_BUCKET) * WIDTH) + (WIDTH - 1);
+    }
+
+    /**
+     * @param counts are bucket counts returned by getCounts
+     * @param percentile is a number such that 0 <= percentile <= 100
+     * @return an upper bound of the value at percentile, or 0 if counts are
+     *         all 0
+     */
+    static long getValueAtPercentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long count : counts)
+            total += count;
+
+        if (total == 0)
+            return 0;
+
+        // the rank of the value at percentile, counted from 1
+        final long RANK = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+
+        long seen = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+
+            if (seen >= RANK)
+                return getBucketUpperBound(i);
+        }
+
+        return getBucketUpperBound(counts.length - 1);
+    }
+}
@@ -0,0 +1,386 @@
+package irsan.winarto.solution;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+
+/**
+ * A lenient reader of amounts as people write them, e.g. "$1,234,567.89",
+ * "1 234 567,89" or "AUD 1234.5", which translates them as ConvertNumbersToWords
+ * translates "1234567.89". The decimal mark and the grouping separators are
+ * configurable, a currency prefix may come first and whitespace may surround
+ * the amount. The number-string is read once, character by character, by a
+ * small state machine writing straight into the scratch space of the
+ * conversion, so nothing is copied or allocated.
+ *
+ * The rules are:
+ *      1. whitespace is ignored at both ends and after the currency prefix
+ *      2. a grouping separator must come between digits of the integer part
+ *         after a group of 1 to 3 digits at the start or of exactly 3 digits
+ *         after another separator, and the last group must be 3 digits
+ *      3. leading zeroes are ignored and the integer part may be empty, e.g.
+ *         ".5" is "ZERO DOLLAR AND FIFTY CENTS", as may the fractional part,
+ *         e.g. "5." is "FIVE DOLLARS"
+ *      4. there must be at least one digit
+ *      5. only convertSignedNumbersToWords accepts a negative amount
+ *
+ * @author Irsan Winarto
+ */
+public final class LenientParser {
+    private final static String[] CURRENCY_PREFIXES = {
+        "$", "A$", "AU$", "AUD", "US$", "USD", "€", "EUR", "£", "GBP", "¥", "JPY", "KWD"
+    };
+
+    // a decimal point, and commas, spaces and (narrow) no-break spaces for
+    // grouping
+    public final static LenientParser ENGLISH = new LenientParser('.', ", \u00A0\u202F", CURRENCY_PREFIXES);
+    // a decimal comma, and points, spaces, (narrow) no-break spaces and
+    // apostrophes for grouping
+    public final static LenientParser CONTINENTAL = new LenientParser(',', ". \u00A0\u202F'", CURRENCY_PREFIXES);
+
+    // the states of the scan between the prefix and the end of the amount
+    private final static int INTEGER = 0;
+    private final static int FRACTION = 1;
+
+    private final char decimalMark;
+    private final String groupingSeparators;
+    // the longest prefixes first, so that "US$" is tried before "$"
+    private final String[] currencyPrefixes;
+
+    /**
+     * @param decimalMark separates the integer part from the fractional part
+     * @param groupingSeparators holds every character that may group the
+     *                           digits of the integer part
+     * @param currencyPrefixes are skipped if the amount begins with one of
+     *                         them; case matters
+     *
+     * @throws IllegalArgumentException if an argument is null, decimalMark is
+     *                                  a digit or a grouping separator, or a
+     *                                  prefix is null or empty
+     */
+    public LenientParser(char decimalMark, String groupingSeparators, String... currencyPrefixes) {
+        if (groupingSeparators == null || currencyPrefixes == null)
+            throw new IllegalArgumentException("groupingSeparators and currencyPrefixes must not be null");
+
+        if (decimalMark >= '0' && decimalMark <= '9' || groupingSeparators.indexOf(decimalMark) >= 0)
+            throw new IllegalArgumentException("decimalMark must be neither a digit nor a grouping separator");
+
+        for (int i = 0; i < groupingSeparators.length(); ++i) {
+            char c = groupingSeparators.charAt(i);
+
+            if (c >= '0' && c <= '9')
+                throw new IllegalArgumentException("a grouping separator must not be a digit");
+        }
+
+        for (String prefix : currencyPrefixes)
+            if (prefix == null || prefix.isEmpty())
+                throw new IllegalArgumentException("a currency prefix must not be null or empty");
+
+        this.decimalMark = decimalMark;
+        this.groupingSeparators = groupingSeparators;
+        this.currencyPrefixes = currencyPrefixes.clone();
+
+        Arrays.sort(this.currencyPrefixes, Comparator.comparingInt(String::length).reversed());
+    }
+
+    /**
+     * @param numberString is an amount as described above
+     * @return the same translation ConvertNumbersToWords.convertNumbersToWords
+     *         gives for the amount written plainly
+     *
+     * @throws IllegalArgumentException if numberString is invalid
+     */
+    public String convertNumbersToWords(CharSequence numberString) {
+        ParsedAmount amount = ConvertNumbersToWords.scratch.get();
+
+        scanNumberString(numberString, amount, 2);
+
+        String result = ConvertNumbersToWords.convertAmountToWords(amount);
+        ConvertNumbersToWords.recordLatency(amount);
+
+        return result;
+    }
+
+    /**
+     * Appends the translation of numberString to out; see
+     * ConvertNumbersToWords.convertNumbersToWords(CharSequence, StringBuilder).
+     *
+     * @throws IllegalArgumentException if numberString is invalid; out is
+     *                                  left untouched in that case
+     */
+    public void convertNumbersToWords(CharSequence numberString, StringBuilder out) {
+        ParsedAmount amount = ConvertNumbersToWords.scratch.get();
+
+        scanNumberString(numberString, amount, 2);
+
+        ConvertNumbersToWords.convertAmountToWords(amount, out);
+        ConvertNumbersToWords.recordLatency(amount);
+    }
+
+    /**
+     * Appends the translation of numberString in language and currency to
+     * out; the fractional part is rounded to the minor digits of currency.
+     *
+     * @throws IllegalArgumentException if numberString is invalid; out is
+     *                                  left untouched in that case
+     */
+    public void convertNumbersToWords(CharSequence numberString, Language language, Currency currency,
+                                      StringBuilder out) {
+        WordTable words = language.getWordTable(currency);
+        ParsedAmount amount = ConvertNumbersToWords.scratch.get();
+
+        scanNumberString(numberString, amount, currency.getMinorDigits());
+
+        ConvertNumbersToWords.convertAmountToWords(amount, words, out);
+        ConvertNumbersToWords.recordLatency(amount);
+    }
+
+    /**
+     * The same as convertNumbersToWords(CharSequence, StringBuilder), but an
+     * invalid numberString is reported rather than thrown; the position of
+     * the offending character is given by
+     * ConvertNumbersToWords.getLastErrorPosition().
+     *
+     * @return null if the translation was appended to out, or else the
+     *         reason numberString is invalid
+     */
+    public ConversionError tryConvertNumbersToWords(CharSequence numberString, StringBuilder out) {
+        ParsedAmount amount = ConvertNumbersToWords.scratch.get();
+
+        ConversionError error = scan(numberString, amount, 2, false);
+
+        if (error == null) {
+            ConvertNumbersToWords.convertAmountToWords(amount, out);
+            ConvertNumbersToWords.recordLatency(amount);
+        }
+
+        return error;
+    }
+
+    /**
+     * The same as convertNumbersToWords(CharSequence, StringBuilder), but
+     * numberString may also be a negative amount written with a '-' before
+     * or after the currency prefix, in parentheses or followed by "CR", e.g.
+     * "-$125.40", "($125.40)" or "125.40 CR", which is worded with wording.
+     * A zero amount is never negative.
+     *
+     * @throws IllegalArgumentException if numberString is invalid; out is
+     *                                  left untouched in that case
+     */
+    public void convertSignedNumbersToWords(CharSequence numberString, NegativeWording wording, StringBuilder out) {
+        convertSignedNumbersToWords(numberString, EnglishLanguage.AUSTRALIAN, Currency.AUD, wording, out);
+    }
+
+    /**
+     * The same as convertSignedNumbersToWords(CharSequence, NegativeWording,
+     * StringBuilder), but in the given language and currency.
+     *
+     * @throws IllegalArgumentException if numberString is invalid; out is
+     *                                  left untouched in that case
+     */
+    public void convertSignedNumbersToWords(CharSequence numberString, Language language, Currency currency,
+                                            NegativeWording wording, StringBuilder out) {
+        WordTable words = language.getWordTable(currency);
+        ParsedAmount amount = ConvertNumbersToWords.scratch.get();
+
+        ConversionError error = scan(numberString, amount, currency.getMinorDigits(), true);
+
+        if (error != null)
+            throw new IllegalArgumentException(error.getMessage(numberString, amount.errorPosition));
+
+        words.planWords(amount);
+        ConvertNumbersToWords.appendSignedWords(amount, words, wording, out);
+        ConvertNumbersToWords.recordLatency(amount);
+    }
+
+    private void scanNumberString(CharSequence numberString, ParsedAmount amount, int minorDigits) {
+        ConversionError error = scan(numberString, amount, minorDigits, false);
+
+        if (error != null)
+            throw new IllegalArgumentException(error.getMessage(numberString, amount.errorPosition));
+    }
+
+    /**
+     * Reads numberString into amount in a single pass.
+     *
+     * @param amount receives the integer part in triples, the fractional
+     *               part rounded to minorDigits digits and whether it is
+     *               negative, or the position of the offending character if
+     *               numberString is invalid
+     * @param isSignAllowed is true if numberString may be negative
+     * @return null if numberString is valid, or else the reason it is not
+     */
+    ConversionError scan(CharSequence numberString, ParsedAmount amount, int minorDigits, boolean isSignAllowed) {
+        ConvertNumbersToWords.recordCall(numberString, amount);
+
+        if (numberString == null)
+            return ConvertNumbersToWords.invalid(ConversionError.NULL, 0, amount);
+
+        int end = trimSpaces(numberString, 0, numberString.length());
+        int i = skipSpaces(numberString, 0, end);
+        boolean isNegative = false;
+
+        if (isSignAllowed && i < end) {
+            if (end - i >= 2 && numberString.charAt(end - 2) == 'C' && numberString.charAt(end - 1) == 'R') {
+                isNegative = true;
+                end = trimSpaces(numberString, i, end - 2);
+            } else if (numberString.charAt(i) == '(') {
+                // an unmatched '(' is an invalid character
+                if (end - i < 2 || numberString.charAt(end - 1) != ')')
+                    return ConvertNumbersToWords.invalid(ConversionError.INVALID_CHAR, i, amount);
+
+                isNegative = true;
+                end = trimSpaces(numberString, i + 1, end - 1);
+                i = skipSpaces(numberString, i + 1, end);
+            } else if (numberString.charAt(i) == '-') {
+                isNegative = true;
+                i = skipSpaces(numberString, i + 1, end);
+            }
+        }
+
+        i = skipSpaces(numberString, skipCurrencyPrefix(numberString, i, end), end);
+
+        // "$-125.40"
+        if (isSignAllowed && !isNegative && i < end && numberString.charAt(i) == '-') {
+            isNegative = true;
+            i = skipSpaces(numberString, i + 1, end);
+        }
+
+        final byte[] DIGITS = amount.digits;
+        final int MAX_DIGIT_COUNT = DIGITS.length;
+
+        int state = INTEGER;
+        // the digits of the integer part kept in DIGITS, without leading zeroes
+        int digitCount = 0;
+        boolean hasDigit = false;
+        // the digits since the start or the last grouping separator, and
+        // whether there has been a separator
+        int groupLength = 0;
+        boolean isGrouped = false;
+        // the fractional part as in ConvertNumbersToWords.scan
+        int fractionLength = 0;
+        int cents = 0;
+        boolean isRoundingUp = false;
+
+        for (; i < end; ++i) {
+            char c = numberString.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+
+                if (state == FRACTION) {
+                    if (fractionLength < minorDigits)
+                        cents = cents * 10 + (c - '0');
+                    else if (fractionLength == minorDigits && c >= '5')
+                        isRoundingUp = true;
+
+                    ++fractionLength;
+                    continue;
+                }
+
+                if (isGrouped && groupLength == 3)
+                    // a fourth digit after a separator
+                    return ConvertNumbersToWords.invalid(ConversionError.MISPLACED_SEPARATOR, i, amount);
+
+                ++groupLength;
+
+                if (digitCount == 0 && c == '0')
+                    continue;
+
+                if (digitCount == MAX_DIGIT_COUNT)
+                    return ConvertNumbersToWords.invalid(ConversionError.TOO_LONG, i, amount);
+
+                DIGITS[digitCount++] = (byte) (c - '0');
+            } else if (c == decimalMark) {
+                if (state == FRACTION)
+                    return ConvertNumbersToWords.invalid(ConversionError.MULTIPLE_DOTS, i, amount);
+
+                if (isGrouped && groupLength != 3)
+                    return ConvertNumbersToWords.invalid(ConversionError.MISPLACED_SEPARATOR, i, amount);
+
+                state = FRACTION;
+            } else if (state == INTEGER && groupingSeparators.indexOf(c) >= 0) {
+                if (groupLength == 0 || groupLength > 3 || isGrouped && groupLength != 3)
+                    return ConvertNumbersToWords.invalid(ConversionError.MISPLACED_SEPARATOR, i, amount);
+
+                groupLength = 0;
+                isGrouped = true;
+            } else {
+                return ConvertNumbersToWords.invalid(ConversionError.INVALID_CHAR, i, amount);
+            }
+        }
+
+        if (!hasDigit)
+            return ConvertNumbersToWords.invalid(ConversionError.EMPTY, 0, amount);
+
+        if (state == INTEGER && isGrouped && groupLength != 3)
+            return ConvertNumbersToWords.invalid(ConversionError.MISPLACED_SEPARATOR, end, amount);
+
+        // split the integer part into triples, least significant first
+        int groupCount = 0;
+        for (int upperIndex = digitCount; upperIndex > 0; upperIndex -= 3) {
+            int value = 0;
+
+            for (int j = Math.max(upperIndex - 3, 0); j < upperIndex; ++j)
+                value = value * 10 + DIGITS[j];
+
+            amount.groups[groupCount++] = value;
+        }
+
+        // the integer part is 0 or empty
+        if (groupCount == 0)
+            amount.groups[groupCount++] = 0;
+
+        amount.groupCount = groupCount;
+        amount.integerEnd = 0;
+        amount.fractionStart = -1;
+
+        ConvertNumbersToWords.setMinorUnits(amount, cents, fractionLength, minorDigits, isRoundingUp);
+        amount.isNegative = isNegative && !amount.isZero();
+
+        return null;
+    }
+
+    /**
+     * @return the position after the longest currency prefix at position
+     *         from, or from if there is none
+     */
+    private int skipCurrencyPrefix(CharSequence numberString, int from, int end) {
+        for (String prefix : currencyPrefixes) {
+            final int LENGTH = prefix.length();
+
+            if (end - from < LENGTH)
+                continue;
+
+            int i = 0;
+            while (i < LENGTH && numberString.charAt(from + i) == prefix.charAt(i))
+                ++i;
+
+            if (i == LENGTH)
+                return from + LENGTH;
+        }
+
+        return from;
+    }
+
+    /**
+     * @return the end of [from, end) without its trailing whitespace
+     */
+    private static int trimSpaces(CharSequence numberString, int from, int end) {
+        while (end > from && isSpace(numberString.charAt(end - 1)))
+            --end;
+
+        return end;
+    }
+
+    private static int skipSpaces(CharSequence numberString, int from, int end) {
+        while (from < end && isSpace(numberString.charAt(from)))
+            ++from;
+
+        return from;
+    }
+
+    private static boolean isSpace(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+}
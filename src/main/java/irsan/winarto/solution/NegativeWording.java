@@ -0,0 +1,48 @@
+package irsan.winarto.solution;
+
+
+/**
+ * How a negative amount is worded around the translation of its absolute
+ * value, e.g. "MINUS ONE DOLLAR" or "ONE DOLLAR CREDIT". The words are kept
+ * as chars so that writing them is a copy.
+ *
+ * @author Irsan Winarto
+ */
+public final class NegativeWording {
+    public final static NegativeWording MINUS = new NegativeWording("MINUS ", "");
+    public final static NegativeWording CREDIT = new NegativeWording("", " CREDIT");
+
+    private final char[] prefix;
+    private final char[] suffix;
+
+    /**
+     * @param prefix is written before the translation, including the space
+     *               after it
+     * @param suffix is written after the translation, including the space
+     *               before it
+     *
+     * @throws IllegalArgumentException if prefix or suffix is null
+     */
+    public NegativeWording(String prefix, String suffix) {
+        if (prefix == null || suffix == null)
+            throw new IllegalArgumentException("prefix and suffix must not be null");
+
+        this.prefix = prefix.toCharArray();
+        this.suffix = suffix.toCharArray();
+    }
+
+    /**
+     * @return the number of chars this wording adds to a translation
+     */
+    int length() {
+        return prefix.length + suffix.length;
+    }
+
+    void appendPrefix(StringBuilder out) {
+        out.append(prefix);
+    }
+
+    void appendSuffix(StringBuilder out) {
+        out.append(suffix);
+    }
+}
@@ -0,0 +1,99 @@
+package irsan.winarto.solution;
+
+
+/**
+ * A reusable holder for a number-string that has been scanned once: where its
+ * integer and fractional parts are, its integer part split into triples and
+ * its fractional part rounded to cents.
+ *
+ * @author Irsan Winarto
+ */
+final class ParsedAmount {
+    // invariance: enough triples for MAX_INT_PART_LENGTH digits, i.e.
+    //             ceil(64 / 3); a rounding carry such as 999.995 becoming
+    //             1000 needs no extra triple only because 64 is not a
+    //             multiple of 3, so the 65 digits of 10^64 fit as well
+    final static int MAX_GROUP_COUNT = 22;
+
+    // the integer part is [0, integerEnd) of the scanned number-string
+    int integerEnd;
+
+    // the fractional part is [fractionStart, length) of the scanned
+    // number-string, or -1 if it has no fractional part
+    int fractionStart;
+
+    // the integer part in triples, least significant first, e.g. 1234567 is
+    // {567, 234, 1}; only [0, groupCount) is meaningful and groupCount >= 1
+    final int[] groups = new int[MAX_GROUP_COUNT];
+    int groupCount;
+
+    // the fractional part rounded to the minor digits of the currency, two
+    // unless stated otherwise, in minor units; 0 <= cents < 10 raised to the
+    // minor digits
+    int cents;
+
+    // invariance: enough fragments for a separator, a triple and a scale name
+    //             per triple, plus the major unit, the separator before the
+    //             cents, the cents and the minor unit, with room to spare
+    final static int MAX_FRAGMENT_COUNT = 3 * MAX_GROUP_COUNT + 6;
+
+    // the ids of the fragments of a WordTable the translation is made of, in
+    // order; only [0, fragmentCount) is meaningful
+    final int[] fragments = new int[MAX_FRAGMENT_COUNT];
+    int fragmentCount;
+
+    // the triples read by WordsParser, most significant first, and the ids of
+    // the scale names after them, or -1 after the last triple if it has none;
+    // only [0, readCount) is meaningful
+    final int[] readTriples = new int[MAX_GROUP_COUNT];
+    final int[] readScales = new int[MAX_GROUP_COUNT];
+    int readCount;
+
+    // true if the amount is below zero; only a signed scan sets it
+    boolean isNegative;
+
+    // the position of the offending character of the last number-string
+    // rejected by ConvertNumbersToWords.scan
+    int errorPosition;
+
+    // when the metrics are enabled, System.nanoTime() when the current
+    // conversion was recorded as a call, for its latency
+    long startNanos;
+
+    // the digits of the integer part without grouping separators or leading
+    // zeroes, for LenientParser
+    final byte[] digits = new byte[ConvertNumbersToWords.getMaxIntPartLength()];
+
+    // a view for scanning number-strings held in bytes
+    final AsciiSequence asciiView = new AsciiSequence();
+
+    /**
+     * @return true if the integer part is 1 or less, i.e. its unit is singular
+     */
+    boolean isSingular() {
+        return groupCount == 1 && groups[0] <= 1;
+    }
+
+    /**
+     * @return true if both the integer part and the cents are 0
+     */
+    boolean isZero() {
+        return groupCount == 1 && groups[0] == 0 && cents == 0;
+    }
+
+    /**
+     * Adds one to the integer part, e.g. after rounding 0.995 up to 1.00.
+     *
+     * @require groupCount < MAX_GROUP_COUNT or the most significant triple
+     *          is less than 999
+     */
+    void incrementIntegerPart() {
+        int index = 0;
+
+        while (index < groupCount && ++groups[index] == 1000)
+            groups[index++] = 0;
+
+        if (index == groupCount)
+            groups[groupCount++] = 1;
+    }
+}
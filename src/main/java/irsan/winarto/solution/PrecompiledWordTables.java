@@ -0,0 +1,138 @@
+package irsan.winarto.solution;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+
+
+/**
+ * The word tables of the built-in English languages, compiled at build time
+ * so that a new JVM does not compile them on its first translation. The build
+ * runs main after the classes are compiled, which writes the tables next to
+ * this class as resources; Language.compileWordTable then reads them, which
+ * takes a fraction of the time of calling the language 22,000 times and
+ * interning its words, most of it in the interpreter.
+ *
+ * Every file starts with a fingerprint of the class files its tables were
+ * compiled from: those of the language, its superclasses and WordTable. The
+ * tables are compiled as before if they are missing, e.g. when the classes
+ * are not built by Maven; if their fingerprint is not that of the classes
+ * loaded, e.g. when the language has been edited and recompiled without
+ * process-classes running, as "mvn compile" and IDEs do; if they no longer
+ * match the layout of WordTable or the default currency; or if the
+ * irsan.winarto.precompiled property is "false".
+ *
+ * @author Irsan Winarto
+ */
+final class PrecompiledWordTables {
+    private final static String PROPERTY = "irsan.winarto.precompiled";
+    private final static boolean ENABLED = !"false".equals(System.getProperty(PROPERTY));
+
+    private final static String SUFFIX = ".words";
+
+    private PrecompiledWordTables() {
+    }
+
+    /**
+     * @return the tables of language and its default currency written at
+     *         build time, or null if there are none or they are disabled
+     */
+    static WordTable load(Language language) {
+        String name = language.getPrecompiledName();
+
+        if (!ENABLED || name == null)
+            return null;
+
+        InputStream resource = PrecompiledWordTables.class.getResourceAsStream(name.concat(SUFFIX));
+
+        if (resource == null)
+            return null;
+
+        return read(resource, language);
+    }
+
+    /**
+     * @return the tables of language and its default currency in the file
+     *         main writes, which is closed, or null if they were compiled
+     *         from other classes, are out of date or are damaged
+     */
+    static WordTable read(InputStream file, Language language) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            if (in.readLong() != fingerprint(language))
+                // compiled from other classes
+                return null;
+
+            return new WordTable(in, language.getDefaultCurrency());
+        } catch (IOException | IllegalArgumentException e) {
+            // the file is truncated or damaged, or the class files cannot
+            // be read to fingerprint them
+            return null;
+        }
+    }
+
+    /**
+     * @return the CRC-32 of the class files of language, its superclasses up
+     *         to Language and WordTable, which hold everything its tables
+     *         are compiled from apart from the currency
+     *
+     * @throws IOException if a class file cannot be read, e.g. in a native
+     *                     image built without them
+     */
+    static long fingerprint(Language language) throws IOException {
+        CRC32 crc = new CRC32();
+
+        for (Class<?> c = language.getClass(); c != Object.class; c = c.getSuperclass())
+            update(crc, c);
+
+        update(crc, WordTable.class);
+
+        return crc.getValue();
+    }
+
+    private static void update(CRC32 crc, Class<?> c) throws IOException {
+        String name = c.getName();
+
+        try (InputStream in = c.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1).concat(".class"))) {
+            if (in == null)
+                throw new IOException("the class file of ".concat(name).concat(" cannot be read"));
+
+            crc.update(in.readAllBytes());
+        }
+    }
+
+    /**
+     * Writes the tables of the built-in English languages and their default
+     * currencies under the class directory args[0].
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: CLASS_DIRECTORY");
+            System.exit(1);
+        }
+
+        Language[] languages = {
+            EnglishLanguage.AUSTRALIAN, EnglishLanguage.AMERICAN, EnglishLanguage.BRITISH_LONG_SCALE
+        };
+
+        Path directory = Paths.get(args[0]).resolve(PrecompiledWordTables.class.getPackageName().replace('.', '/'));
+        Files.createDirectories(directory);
+
+        for (Language language : languages) {
+            // compiled afresh rather than read from the previous build
+            WordTable table = new WordTable(language, language.getDefaultCurrency());
+            Path path = directory.resolve(language.getPrecompiledName() + SUFFIX);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+                out.writeLong(fingerprint(language));
+                table.write(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package irsan.winarto.solution;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The fragments of one Language and Currency compiled into flat tables. Every
+ * distinct fragment is stored once and identified by its index; the tables
+ * map a triple, scale or unit to the id of its fragment, so that planning a
+ * translation is a handful of array loads and writing it is a copy per
+ * fragment.
+ *
+ * @author Irsan Winarto
+ */
+final class WordTable {
+    private final static int GROUP_COUNT = ParsedAmount.MAX_GROUP_COUNT;
+
+    // the first int of tables written by write, to be changed whenever their
+    // layout does
+    private final static int FORMAT = 0x4E325701;
+
+    // the currency the units are named after
+    final Currency currency;
+
+    // the text of every fragment, indexed by id
+    final char[][] fragments;
+    // fragments encoded in UTF-8, which is ASCII for English, for the
+    // byte-level translation
+    final byte[][] fragmentBytes;
+
+    // [scale index][triple] to the id of the words of the triple
+    final int[][] triples;
+    // [scale index][variant] to the id of the name of the scale, where the
+    // variant is 2 if plural plus 1 if the next triple is "000"
+    final int[][] scales;
+    // [scale index][variant] to the id of the separator after the scale,
+    // where the variant is 2 if the next triple is "000" plus 1 if the next
+    // triple written is the last one and is less than 100
+    final int[][] separators;
+    final int minorSeparator;
+    // [variant] to the id of the major unit including the separator before
+    // it, where the variant is 2 if plural plus 1 if it follows the name of a
+    // scale from a million upwards
+    final int[] majorUnits = new int[4];
+    // [variant] to the id of the minor unit including the separator before
+    // it, where the variant is 1 if plural
+    final int[] minorUnits = new int[2];
+
+    WordTable(Language language, Currency currency) {
+        List<String> texts = new ArrayList<>();
+        Map<String, Integer> ids = new HashMap<>();
+
+        triples = new int[GROUP_COUNT][1000];
+        scales = new int[GROUP_COUNT][4];
+        separators = new int[GROUP_COUNT][4];
+
+        for (int index = 0; index < GROUP_COUNT; ++index) {
+            // a triple of "000" is never written above the ones
+            for (int value = index == 0 ? 0 : 1; value < 1000; ++value)
+                triples[index][value] = intern(language.getTripleWords(value, index), texts, ids);
+
+            if (index == 0)
+                continue;
+
+            for (int variant = 0; variant < 4; ++variant) {
+                scales[index][variant] =
+                    intern(language.getScaleWords(index, variant >= 2, (variant & 1) != 0), texts, ids);
+                separators[index][variant] =
+                    intern(language.getGroupSeparator(index, variant >= 2, (variant & 1) != 0), texts, ids);
+            }
+        }
+
+        minorSeparator = intern(language.getMinorSeparator(), texts, ids);
+
+        this.currency = currency;
+        internUnits(language, texts, ids);
+
+        fragments = new char[texts.size()][];
+        fragmentBytes = new byte[texts.size()][];
+        encode(texts, 0);
+    }
+
+    /**
+     * Shares the words of the numbers of base and adds the units of currency.
+     *
+     * @require base was compiled from language
+     */
+    WordTable(WordTable base, Language language, Currency currency) {
+        List<String> texts = new ArrayList<>();
+        Map<String, Integer> ids = new HashMap<>();
+
+        for (char[] fragment : base.fragments)
+            intern(new String(fragment), texts, ids);
+
+        triples = base.triples;
+        scales = base.scales;
+        separators = base.separators;
+        minorSeparator = base.minorSeparator;
+
+        this.currency = currency;
+        internUnits(language, texts, ids);
+
+        fragments = Arrays.copyOf(base.fragments, texts.size());
+        fragmentBytes = Arrays.copyOf(base.fragmentBytes, texts.size());
+        encode(texts, base.fragments.length);
+    }
+
+    /**
+     * Reads tables written by write, e.g. at build time; see
+     * PrecompiledWordTables.
+     *
+     * @throws IOException if in cannot be read or does not hold tables of
+     *                     currency in the current layout
+     */
+    WordTable(DataInputStream in, Currency currency) throws IOException {
+        if (in.readInt() != FORMAT)
+            throw new IOException("the tables are in another layout");
+
+        Currency written = new Currency(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+                                        in.readUnsignedByte());
+        if (!written.equals(currency))
+            throw new IOException("the tables are of another currency");
+
+        this.currency = currency;
+
+        fragments = new char[in.readUnsignedShort()][];
+        fragmentBytes = new byte[fragments.length][];
+
+        // the fragments one after another in UTF-8, decoded in one go since
+        // the first translation runs in the interpreter
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        String texts = new String(bytes, StandardCharsets.UTF_8);
+
+        int charStart = 0;
+        int byteStart = 0;
+
+        for (int id = 0; id < fragments.length; ++id) {
+            int charEnd = charStart + in.readUnsignedShort();
+            int byteEnd = byteStart + in.readUnsignedShort();
+
+            fragments[id] = new char[charEnd - charStart];
+            texts.getChars(charStart, charEnd, fragments[id], 0);
+            fragmentBytes[id] = Arrays.copyOfRange(bytes, byteStart, byteEnd);
+
+            charStart = charEnd;
+            byteStart = byteEnd;
+        }
+
+        triples = new int[GROUP_COUNT][];
+        scales = new int[GROUP_COUNT][4];
+        separators = new int[GROUP_COUNT][4];
+
+        for (int index = 0; index < GROUP_COUNT; ++index) {
+            // most languages write a triple alike in front of every scale
+            if (index > 0 && in.readBoolean()) {
+                triples[index] = triples[index - 1];
+                continue;
+            }
+
+            triples[index] = new int[1000];
+            readIds(in, triples[index]);
+        }
+
+        for (int index = 1; index < GROUP_COUNT; ++index) {
+            readIds(in, scales[index]);
+            readIds(in, separators[index]);
+        }
+
+        minorSeparator = in.readUnsignedShort();
+        readIds(in, majorUnits);
+        readIds(in, minorUnits);
+    }
+
+    /**
+     * Writes these tables for the constructor reading them.
+     *
+     * @throws IOException if out cannot be written
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT);
+
+        out.writeUTF(currency.getCode());
+        out.writeUTF(currency.getMajorUnit(false));
+        out.writeUTF(currency.getMajorUnit(true));
+        out.writeUTF(currency.getMinorUnit(false));
+        out.writeUTF(currency.getMinorUnit(true));
+        out.writeByte(currency.getMinorDigits());
+
+        if (fragments.length > 0xFFFF)
+            throw new IOException("there are too many fragments to write");
+
+        out.writeShort(fragments.length);
+
+        int byteCount = 0;
+        for (byte[] fragment : fragmentBytes)
+            byteCount += fragment.length;
+
+        out.writeInt(byteCount);
+        for (byte[] fragment : fragmentBytes)
+            out.write(fragment);
+
+        for (int id = 0; id < fragments.length; ++id) {
+            if (fragments[id].length > 0xFFFF || fragmentBytes[id].length > 0xFFFF)
+                throw new IOException("a fragment is too long to write");
+
+            out.writeShort(fragments[id].length);
+            out.writeShort(fragmentBytes[id].length);
+        }
+
+        for (int index = 0; index < GROUP_COUNT; ++index) {
+            if (index > 0) {
+                boolean isSameAsPrevious = Arrays.equals(triples[index], 1, 1000, triples[index - 1], 1, 1000);
+
+                out.writeBoolean(isSameAsPrevious);
+
+                if (isSameAsPrevious)
+                    continue;
+            }
+
+            writeIds(out, triples[index]);
+        }
+
+        for (int index = 1; index < GROUP_COUNT; ++index) {
+            writeIds(out, scales[index]);
+            writeIds(out, separators[index]);
+        }
+
+        out.writeShort(minorSeparator);
+        writeIds(out, majorUnits);
+        writeIds(out, minorUnits);
+    }
+
+    private static void readIds(DataInputStream in, int[] ids) throws IOException {
+        for (int i = 0; i < ids.length; ++i)
+            ids[i] = in.readUnsignedShort();
+    }
+
+    private static void writeIds(DataOutputStream out, int[] ids) throws IOException {
+        for (int id : ids)
+            out.writeShort(id);
+    }
+
+    private void internUnits(Language language, List<String> texts, Map<String, Integer> ids) {
+        for (int variant = 0; variant < 4; ++variant)
+            majorUnits[variant] = intern(
+                language.getUnitWords(currency.getMajorUnit(variant >= 2), (variant & 1) != 0), texts, ids
+            );
+
+        minorUnits[0] = intern(language.getUnitWords(currency.getMinorUnit(false), false), texts, ids);
+        minorUnits[1] = intern(language.getUnitWords(currency.getMinorUnit(true), false), texts, ids);
+    }
+
+    /**
+     * Fills fragments and fragmentBytes from texts, starting from id from.
+     */
+    private void encode(List<String> texts, int from) {
+        for (int id = from; id < fragments.length; ++id) {
+            fragments[id] = texts.get(id).toCharArray();
+            fragmentBytes[id] = texts.get(id).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * @return the id of text, adding it as a new fragment if it is not one
+     *         already
+     *
+     * @throws IllegalArgumentException if text is null
+     */
+    private static int intern(String text, List<String> texts, Map<String, Integer> ids) {
+        if (text == null)
+            throw new IllegalArgumentException("a language must not give null words");
+
+        Integer id = ids.get(text);
+
+        if (id == null) {
+            id = texts.size();
+            texts.add(text);
+            ids.put(text, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * Works out the fragments the translation of amount is made of, in order,
+     * without writing any of them.
+     *
+     * @param amount is a scanned number
+     *
+     * @ensure amount.fragments in [0, amount.fragmentCount) holds the ids of
+     *         the fragments of this table the translation of amount in the
+     *         major and minor units of its currency is made of
+     */
+    void planWords(ParsedAmount amount) {
+        final int[] GROUPS = amount.groups;
+        final int GROUP_COUNT = amount.groupCount;
+        final int[] PLAN = amount.fragments;
+
+        int count = 0;
+
+        // the least significant triple that is not "000"; it is the last one
+        // written before the unit
+        int lastIndex = 0;
+        while (lastIndex < GROUP_COUNT - 1 && GROUPS[lastIndex] == 0)
+            ++lastIndex;
+
+        // the scale index of the triple written before the current one
+        int previousIndex = -1;
+
+        for (int index = GROUP_COUNT - 1; index >= lastIndex; --index) {
+            int currentTriple = GROUPS[index];
+
+            if (currentTriple == 0 && GROUP_COUNT > 1)
+                // "000" is currently being parsed
+                continue;
+
+            if (previousIndex > 0) {
+                // e.g. 9011 is "THOUSAND AND" and not "THOUSAND, " in English
+                int variant = (GROUPS[previousIndex - 1] == 0 ? 2 : 0)
+                            + (index == lastIndex && currentTriple < 100 ? 1 : 0);
+
+                PLAN[count++] = separators[previousIndex][variant];
+            }
+
+            PLAN[count++] = triples[index][currentTriple];
+
+            // if the integer is at least 1000
+            if (index > 0)
+                PLAN[count++] = scales[index][(currentTriple != 1 ? 2 : 0) + (GROUPS[index - 1] == 0 ? 1 : 0)];
+
+            previousIndex = index;
+        }
+
+        PLAN[count++] = majorUnits[(amount.isSingular() ? 0 : 2) + (lastIndex >= 2 ? 1 : 0)];
+
+        // do NOT say "ZERO CENT"; a currency without a minor unit has none
+        if (amount.cents != 0) {
+            PLAN[count++] = minorSeparator;
+            PLAN[count++] = triples[0][amount.cents];
+            PLAN[count++] = minorUnits[amount.cents != 1 ? 1 : 0];
+        }
+
+        amount.fragmentCount = count;
+    }
+
+    /**
+     * @return the length of the translation planned in amount by planWords
+     */
+    int getPlannedLength(ParsedAmount amount) {
+        final int[] PLAN = amount.fragments;
+
+        int length = 0;
+        for (int i = 0; i < amount.fragmentCount; ++i)
+            length += fragments[PLAN[i]].length;
+
+        return length;
+    }
+
+    /**
+     * Appends the translation planned in amount by planWords to out.
+     */
+    void appendPlannedWords(ParsedAmount amount, StringBuilder out) {
+        final int[] PLAN = amount.fragments;
+
+        for (int i = 0; i < amount.fragmentCount; ++i)
+            out.append(fragments[PLAN[i]]);
+    }
+}
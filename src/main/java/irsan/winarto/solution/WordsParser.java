@@ -0,0 +1,658 @@
+package irsan.winarto.solution;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+
+/**
+ * Reads a translation back into its amount, e.g. for checking that the words
+ * printed on a cheque match its figures: "NINE THOUSAND AND ELEVEN DOLLARS AND
+ * FIFTY CENTS" is 9011.50. Exactly the words ConvertNumbersToWords writes are
+ * accepted, character for character, so a misspelt word, a missing "AND" or
+ * comma, a wrong plural or a stray space is rejected.
+ *
+ * Every fragment of the translations of one Language and Currency, i.e. the
+ * words of every triple, every scale name, separator and unit, is compiled
+ * into a character trie laid out as a double array, so that each character
+ * read is one step down the trie whatever the branching. The words are read
+ * left to right by taking the longest fragment expected next, and the amount
+ * read is then translated again and compared with the words, which is what
+ * makes the grammar exact. Neither step copies the words, so
+ * tryParseWords(CharSequence, StringBuilder) allocates nothing beyond what it
+ * appends to its StringBuilder. parseWords(CharSequence) and
+ * parseWordsToBigDecimal build their String or BigDecimal, and the other
+ * methods allocate the exception of an invalid translation.
+ *
+ * @author Irsan Winarto
+ */
+public final class WordsParser {
+    // the words of ConvertNumbersToWords.convertNumbersToWords(String)
+    public final static WordsParser AUSTRALIAN = new WordsParser(EnglishLanguage.AUSTRALIAN, Currency.AUD);
+
+    // the kinds of fragment, as bits since one text may be of several kinds,
+    // e.g. " AND " both separates the groups and comes before the cents
+    private final static byte TRIPLE = 1;
+    private final static byte SCALE = 2;
+    private final static byte SEPARATOR = 4;
+    private final static byte MINOR_SEPARATOR = 8;
+    private final static byte MAJOR_UNIT = 16;
+    private final static byte MINOR_UNIT = 32;
+    private final static byte SCALE_OR_MAJOR_UNIT = SCALE | MAJOR_UNIT;
+    private final static byte SEPARATOR_OR_MAJOR_UNIT = SEPARATOR | MAJOR_UNIT;
+
+    private final static int ROOT = 0;
+    private final static int SLOT_SIZE = 3;
+    private final static int BASE = 0;
+    private final static int PARENT = 1;
+    private final static int FRAGMENT = 2;
+    private final static int NONE = -1;
+
+    private final WordTable words;
+    private final int minorUnitsPerMajorUnit;
+
+    // [fragment id] to the kinds of the fragment
+    private final byte[] kinds;
+    // [fragment id] to the value of the triple the fragment is the words of
+    private final int[] tripleValues;
+    // [fragment id] to the scale indices the fragment names, one bit each
+    private final long[] scaleIndices;
+
+    // the trie as a double array of slots of SLOT_SIZE ints: the base of the
+    // children of the node in the slot, where its parent starts, and the id of
+    // the fragment ending at the node shifted left by 8 bits with its kinds,
+    // or 0. The child of the node in slot s by the character of code c is in
+    // slot base + c if the parent of that slot is s. The three are side by
+    // side so that a step down the trie reads one place; the root is slot 0
+    private int[] trie;
+    private int slotCount;
+
+    // the codes of the characters of the fragments from 1, and 0 for any
+    // other character: asciiCodes holds those of ASCII and the characters
+    // above ASCII have the codes from otherCodeBase in the ascending order
+    private final int[] asciiCodes = new int[128];
+    private char[] otherCharacters;
+    private int otherCodeBase;
+
+    /**
+     * A node of the trie while it is built.
+     */
+    private final static class Node {
+        private final char label;
+        private Node firstChild;
+        private Node nextSibling;
+        private int id = NONE;
+        private int slot;
+
+        private Node(char label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * @param language is the language of the words
+     * @param currency names the units of the words
+     *
+     * @throws IllegalArgumentException if language or currency is null
+     */
+    public WordsParser(Language language, Currency currency) {
+        if (language == null || currency == null)
+            throw new IllegalArgumentException("language and currency must not be null");
+
+        words = language.getWordTable(currency);
+        minorUnitsPerMajorUnit = BigInteger.TEN.pow(currency.getMinorDigits()).intValue();
+
+        final int FRAGMENT_COUNT = words.fragments.length;
+
+        kinds = new byte[FRAGMENT_COUNT];
+        tripleValues = new int[FRAGMENT_COUNT];
+        scaleIndices = new long[FRAGMENT_COUNT];
+        Arrays.fill(tripleValues, NONE);
+
+        Node root = new Node('\0');
+
+        for (int index = 0; index < ParsedAmount.MAX_GROUP_COUNT; ++index) {
+            for (int value = index == 0 ? 0 : 1; value < 1000; ++value) {
+                int id = words.triples[index][value];
+
+                // the ones come first, so "ONE" is 1 even if it also names 1
+                // above the ones
+                if (tripleValues[id] == NONE)
+                    tripleValues[id] = value;
+
+                add(root, id, TRIPLE);
+            }
+
+            if (index == 0)
+                continue;
+
+            for (int variant = 0; variant < 4; ++variant) {
+                scaleIndices[words.scales[index][variant]] |= 1L << index;
+
+                add(root, words.scales[index][variant], SCALE);
+                add(root, words.separators[index][variant], SEPARATOR);
+            }
+        }
+
+        add(root, words.minorSeparator, MINOR_SEPARATOR);
+
+        for (int id : words.majorUnits)
+            add(root, id, MAJOR_UNIT);
+
+        for (int id : words.minorUnits)
+            add(root, id, MINOR_UNIT);
+
+        encodeCharacters();
+        compile(root);
+    }
+
+    /**
+     * Adds the fragment id of the given kind to the trie under root.
+     */
+    private void add(Node root, int id, byte kind) {
+        if (kinds[id] == 0) {
+            Node node = root;
+
+            for (char c : words.fragments[id])
+                node = getOrAddChild(node, c);
+
+            node.id = id;
+        }
+
+        kinds[id] |= kind;
+    }
+
+    private static Node getOrAddChild(Node node, char c) {
+        for (Node child = node.firstChild; child != null; child = child.nextSibling)
+            if (child.label == c)
+                return child;
+
+        Node child = new Node(c);
+
+        child.nextSibling = node.firstChild;
+        node.firstChild = child;
+
+        return child;
+    }
+
+    /**
+     * Gives a code to every character of the fragments in the trie.
+     */
+    private void encodeCharacters() {
+        boolean[] isUsed = new boolean[Character.MAX_VALUE + 1];
+
+        for (int id = 0; id < kinds.length; ++id)
+            if (kinds[id] != 0)
+                for (char c : words.fragments[id])
+                    isUsed[c] = true;
+
+        int code = 0;
+        for (char c = 0; c < asciiCodes.length; ++c)
+            if (isUsed[c])
+                asciiCodes[c] = ++code;
+
+        otherCodeBase = code + 1;
+
+        StringBuilder others = new StringBuilder();
+        for (int c = asciiCodes.length; c < isUsed.length; ++c)
+            if (isUsed[c])
+                others.append((char) c);
+
+        otherCharacters = others.toString().toCharArray();
+    }
+
+    private int getCode(char c) {
+        if (c < asciiCodes.length)
+            return asciiCodes[c];
+
+        int index = Arrays.binarySearch(otherCharacters, c);
+
+        return index >= 0 ? otherCodeBase + index : 0;
+    }
+
+    /**
+     * Lays the trie under root out as a double array, breadth first, putting
+     * the children of every node at the lowest base where they all fit.
+     */
+    private void compile(Node root) {
+        final int ALPHABET_SIZE = otherCodeBase + otherCharacters.length;
+
+        trie = new int[0];
+        slotCount = 0;
+        ensureCapacity(256);
+
+        setSlot(ROOT, ROOT, root.id);
+
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+
+        // every slot below it is taken
+        int firstFree = 1;
+
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+
+            if (node.firstChild == null)
+                continue;
+
+            int b = Math.max(0, firstFree - ALPHABET_SIZE);
+            while (!fits(node, b))
+                ++b;
+
+            ensureCapacity(b + ALPHABET_SIZE + 1);
+            trie[node.slot * SLOT_SIZE + BASE] = b;
+
+            for (Node child = node.firstChild; child != null; child = child.nextSibling) {
+                child.slot = b + getCode(child.label);
+                setSlot(child.slot, node.slot, child.id);
+                queue.add(child);
+            }
+
+            while (firstFree < slotCount && trie[firstFree * SLOT_SIZE + PARENT] != NONE)
+                ++firstFree;
+        }
+    }
+
+    /**
+     * @return true if every child of node can go in the slot base b plus its
+     *         code
+     */
+    private boolean fits(Node node, int b) {
+        for (Node child = node.firstChild; child != null; child = child.nextSibling) {
+            int slot = b + getCode(child.label);
+
+            if (slot < slotCount && trie[slot * SLOT_SIZE + PARENT] != NONE)
+                return false;
+        }
+
+        return true;
+    }
+
+    private void setSlot(int slot, int parent, int id) {
+        trie[slot * SLOT_SIZE + PARENT] = parent * SLOT_SIZE;
+        trie[slot * SLOT_SIZE + FRAGMENT] = id == NONE ? 0 : id << 8 | kinds[id];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= slotCount)
+            return;
+
+        int oldCount = slotCount;
+        slotCount = Math.max(capacity, slotCount * 2);
+        trie = Arrays.copyOf(trie, slotCount * SLOT_SIZE);
+
+        for (int slot = oldCount; slot < slotCount; ++slot)
+            trie[slot * SLOT_SIZE + PARENT] = NONE;
+    }
+
+    /**
+     * @param words is a translation written by ConvertNumbersToWords in the
+     *              language and currency of this parser
+     * @return the amount as a number-string with the minor units, if any,
+     *         written in full, e.g. "9011.50" or "1"; translating it again
+     *         gives words
+     *
+     * @throws IllegalArgumentException if words is null or not such a
+     *                                  translation
+     */
+    public String parseWords(CharSequence words) {
+        StringBuilder result = new StringBuilder(32);
+
+        parseWords(words, result);
+
+        return result.toString();
+    }
+
+    /**
+     * Appends the number-string of parseWords(CharSequence) to out.
+     *
+     * @throws IllegalArgumentException if words is null or not such a
+     *                                  translation; out is left untouched in
+     *                                  that case
+     */
+    public void parseWords(CharSequence words, StringBuilder out) {
+        ParsedAmount amount = ConvertNumbersToWords.scratch.get();
+
+        readWords(words, amount);
+
+        appendNumberString(amount, out);
+    }
+
+    /**
+     * @return the amount of words with as many decimal places as the minor
+     *         digits of the currency, e.g. 9011.50
+     *
+     * @throws IllegalArgumentException if words is null or not such a
+     *                                  translation
+     */
+    public BigDecimal parseWordsToBigDecimal(CharSequence words) {
+        ParsedAmount amount = ConvertNumbersToWords.scratch.get();
+
+        readWords(words, amount);
+
+        StringBuilder digits = new StringBuilder(3 * amount.groupCount + 3);
+        appendIntegerPart(amount, digits);
+        appendMinorUnits(amount, digits);
+
+        return new BigDecimal(new BigInteger(digits.toString()), this.words.currency.getMinorDigits());
+    }
+
+    /**
+     * @return the amount of words in minor units, e.g. 901150 for 9011.50
+     *
+     * @throws IllegalArgumentException if words is null or not such a
+     *                                  translation, or its amount does not
+     *                                  fit in a long
+     */
+    public long parseWordsToMinorUnits(CharSequence words) {
+        ParsedAmount amount = ConvertNumbersToWords.scratch.get();
+
+        readWords(words, amount);
+
+        long result = 0;
+
+        try {
+            for (int index = amount.groupCount - 1; index >= 0; --index)
+                result = Math.addExact(Math.multiplyExact(result, 1000), amount.groups[index]);
+
+            return Math.addExact(Math.multiplyExact(result, minorUnitsPerMajorUnit), amount.cents);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("the amount of words does not fit in a long");
+        }
+    }
+
+    /**
+     * The same as parseWords(CharSequence, StringBuilder), but words that are
+     * not a translation are reported rather than thrown.
+     *
+     * @return -1 if the number-string was appended to out, or else the
+     *         position of the first character of words that does not match
+     *         any translation, which is the length of words if it ends too
+     *         early
+     *
+     * @throws IllegalArgumentException if words is null
+     */
+    public int tryParseWords(CharSequence words, StringBuilder out) {
+        if (words == null)
+            throw new IllegalArgumentException("words must not be null");
+
+        ParsedAmount amount = ConvertNumbersToWords.scratch.get();
+
+        int errorPosition = read(words, amount);
+
+        if (errorPosition < 0)
+            appendNumberString(amount, out);
+
+        return errorPosition;
+    }
+
+    private void readWords(CharSequence words, ParsedAmount amount) {
+        if (words == null)
+            throw new IllegalArgumentException("words must not be null");
+
+        int errorPosition = read(words, amount);
+
+        if (errorPosition >= 0)
+            throw new IllegalArgumentException("words do not match a translation at " + errorPosition);
+    }
+
+    /**
+     * Reads words into the triples and cents of amount, and checks that they
+     * are the translation of amount.
+     *
+     * @return -1 if words is a translation, or else the position of the
+     *         first character that does not match
+     */
+    private int read(CharSequence words, ParsedAmount amount) {
+        int position = readFragments(words, amount);
+
+        if (position < 0)
+            position = assignScaleIndices(amount);
+
+        if (position < 0)
+            position = compareWithTranslation(words, amount);
+
+        return position;
+    }
+
+    /**
+     * Reads the fragments of words in the order WordTable.planWords puts
+     * them: a triple, its scale name and a separator for every triple but the
+     * last, the last triple and its scale name if any, the major unit, and
+     * optionally the minor separator, the cents and the minor unit.
+     *
+     * @ensure amount.readTriples, amount.readScales, amount.readCount and
+     *         amount.cents hold what was read
+     *
+     * @return -1 if words is made of such fragments, or else the position
+     *         where no expected fragment starts
+     */
+    private int readFragments(CharSequence words, ParsedAmount amount) {
+        final int LENGTH = words.length();
+
+        int position = 0;
+        int count = 0;
+
+        while (true) {
+            if (count == ParsedAmount.MAX_GROUP_COUNT)
+                return position;
+
+            long match = matchTriple(words, position, SCALE_OR_MAJOR_UNIT);
+            if (match == NONE)
+                return getEndOfTriple(words, position);
+
+            amount.readTriples[count] = tripleValues[getId(match)];
+
+            // cannot fail after matchTriple
+            match = match(words, getEnd(match), SCALE_OR_MAJOR_UNIT, LENGTH);
+            position = getEnd(match);
+
+            if ((kinds[getId(match)] & MAJOR_UNIT) != 0) {
+                amount.readScales[count++] = NONE;
+                break;
+            }
+
+            amount.readScales[count++] = getId(match);
+
+            // a scale name is followed by the unit, or a separator and a
+            // triple
+            match = match(words, position, SEPARATOR_OR_MAJOR_UNIT, LENGTH);
+            if (match == NONE)
+                return position;
+
+            position = getEnd(match);
+
+            if ((kinds[getId(match)] & MAJOR_UNIT) != 0)
+                break;
+        }
+
+        amount.readCount = count;
+        amount.cents = 0;
+
+        if (position == LENGTH)
+            return NONE;
+
+        long match = match(words, position, MINOR_SEPARATOR, LENGTH);
+        if (match == NONE)
+            return position;
+
+        position = getEnd(match);
+
+        match = matchTriple(words, position, MINOR_UNIT);
+        if (match == NONE)
+            return getEndOfTriple(words, position);
+
+        if (tripleValues[getId(match)] >= minorUnitsPerMajorUnit)
+            return position;
+
+        amount.cents = tripleValues[getId(match)];
+        position = getEnd(match);
+
+        match = match(words, position, MINOR_UNIT, LENGTH);
+        if (match == NONE)
+            return position;
+
+        // anything after the minor unit is found by the comparison
+        return NONE;
+    }
+
+    /**
+     * Works out the scale index of every triple read from the right, as the
+     * lowest one named by its scale name above the index of the triple after
+     * it; a name such as " THOUSAND" on the long scale names several. The
+     * triples are then put in amount.groups.
+     *
+     * @return -1, or 0 if the triples read need more than
+     *         ParsedAmount.MAX_GROUP_COUNT groups
+     */
+    private int assignScaleIndices(ParsedAmount amount) {
+        final int[] SCALES = amount.readScales;
+
+        int previousIndex = -1;
+
+        for (int k = amount.readCount - 1; k >= 0; --k) {
+            int index;
+
+            if (SCALES[k] == NONE) {
+                index = 0;
+            } else {
+                long above = scaleIndices[SCALES[k]] & (-1L << (previousIndex + 1));
+
+                // the comparison finds where words go wrong in that case
+                index = above != 0 ? Long.numberOfTrailingZeros(above) : previousIndex + 1;
+            }
+
+            if (index >= ParsedAmount.MAX_GROUP_COUNT)
+                return 0;
+
+            SCALES[k] = previousIndex = index;
+        }
+
+        amount.groupCount = SCALES[0] + 1;
+        Arrays.fill(amount.groups, 0, amount.groupCount, 0);
+
+        for (int k = 0; k < amount.readCount; ++k)
+            amount.groups[SCALES[k]] = amount.readTriples[k];
+
+        return NONE;
+    }
+
+    /**
+     * @return -1 if words is the translation of amount, or else the position
+     *         of the first character that differs
+     */
+    private int compareWithTranslation(CharSequence words, ParsedAmount amount) {
+        final int LENGTH = words.length();
+        final int[] PLAN = amount.fragments;
+
+        this.words.planWords(amount);
+
+        int position = 0;
+
+        for (int i = 0; i < amount.fragmentCount; ++i) {
+            for (char c : this.words.fragments[PLAN[i]]) {
+                if (position == LENGTH || words.charAt(position) != c)
+                    return position;
+
+                ++position;
+            }
+        }
+
+        return position == LENGTH ? NONE : position;
+    }
+
+    /**
+     * @return the longest triple starting at from that is followed by a
+     *         fragment of one of nextKinds, as match gives it; e.g. the cents
+     *         of "... ET QUATRE CENTIMES" are "QUATRE" and not "QUATRE CENT"
+     */
+    private long matchTriple(CharSequence words, int from, byte nextKinds) {
+        final int LENGTH = words.length();
+
+        long match = match(words, from, TRIPLE, LENGTH);
+
+        while (match != NONE && match(words, getEnd(match), nextKinds, LENGTH) == NONE)
+            // the next shorter triple
+            match = match(words, from, TRIPLE, getEnd(match) - 1);
+
+        return match;
+    }
+
+    /**
+     * @return the end of the longest triple starting at from, where a scale
+     *         name or unit was expected, or else from
+     */
+    private int getEndOfTriple(CharSequence words, int from) {
+        long match = match(words, from, TRIPLE, words.length());
+
+        return match == NONE ? from : getEnd(match);
+    }
+
+    /**
+     * @return the end of the longest fragment of one of kinds starting at
+     *         from and ending at to or before in the high half and its id in
+     *         the low half, or -1 if there is no such fragment
+     */
+    private long match(CharSequence words, int from, byte kinds, int to) {
+        final int[] TRIE = trie;
+
+        int fragment = TRIE[ROOT + FRAGMENT];
+        long result = from <= to && (fragment & kinds) != 0 ? (long) from << 32 | fragment >>> 8 : NONE;
+
+        // where the slot of the current node starts
+        int node = ROOT;
+
+        for (int position = from; position < to; ++position) {
+            char c = words.charAt(position);
+
+            int code = c < asciiCodes.length ? asciiCodes[c] : getCode(c);
+            int child = (TRIE[node + BASE] + code) * SLOT_SIZE;
+
+            if (code == 0 || child >= TRIE.length || TRIE[child + PARENT] != node)
+                break;
+
+            node = child;
+
+            fragment = TRIE[child + FRAGMENT];
+            if ((fragment & kinds) != 0)
+                result = (long) (position + 1) << 32 | fragment >>> 8;
+        }
+
+        return result;
+    }
+
+    private static int getEnd(long match) {
+        return (int) (match >>> 32);
+    }
+
+    private static int getId(long match) {
+        return (int) match;
+    }
+
+    private void appendNumberString(ParsedAmount amount, StringBuilder out) {
+        appendIntegerPart(amount, out);
+
+        if (amount.cents != 0)
+            appendMinorUnits(amount, out.append('.'));
+    }
+
+    private static void appendIntegerPart(ParsedAmount amount, StringBuilder out) {
+        out.append(amount.groups[amount.groupCount - 1]);
+
+        for (int index = amount.groupCount - 2; index >= 0; --index)
+            appendPadded(amount.groups[index], 100, out);
+    }
+
+    private void appendMinorUnits(ParsedAmount amount, StringBuilder out) {
+        appendPadded(amount.cents, minorUnitsPerMajorUnit / 10, out);
+    }
+
+    /**
+     * Appends value with leading zeroes, from the digit worth unit down.
+     */
+    private static void appendPadded(int value, int unit, StringBuilder out) {
+        for (; unit > 0; unit /= 10)
+            out.append((char) ('0' + value / unit % 10));
+    }
+}
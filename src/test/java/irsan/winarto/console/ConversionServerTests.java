@@ -0,0 +1,101 @@
+package irsan.winarto.console;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import irsan.winarto.solution.ConvertNumbersToWords;
+
+
+class ConversionServerTests {
+    private static String read(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static HttpURLConnection open(ConversionServer server, String path) throws IOException {
+        return (HttpURLConnection) new URL("http://localhost:" + server.getHttpPort() + path).openConnection();
+    }
+
+    @Test
+    void testHttpGet() throws IOException {
+        try (ConversionServer server = new ConversionServer(0, 0)) {
+            server.start();
+
+            HttpURLConnection connection = open(server, "/convert?amount=9011.5");
+            assertEquals(200, connection.getResponseCode());
+            assertEquals("NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS\n", read(connection.getInputStream()));
+
+            connection = open(server, "/convert?amount=12%2C5");
+            assertEquals(400, connection.getResponseCode());
+            assertEquals("Error: numberString contains an invalid character ,\n", read(connection.getErrorStream()));
+
+            connection = open(server, "/metrics");
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(read(connection.getInputStream()).contains("\nfailures.INVALID_CHAR "));
+        }
+    }
+
+    @Test
+    void testHttpPost() throws IOException {
+        try (ConversionServer server = new ConversionServer(0, 0)) {
+            server.start();
+
+            HttpURLConnection connection = open(server, "/convert");
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write("1.01\n\n9011.5".getBytes(StandardCharsets.US_ASCII));
+            }
+
+            assertEquals(200, connection.getResponseCode());
+            assertEquals(
+                "ONE DOLLAR AND ONE CENT\n" +
+                "Error: numberString must not be an empty string\n" +
+                "NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS\n",
+                read(connection.getInputStream())
+            );
+        }
+    }
+
+    @Test
+    void testPipelinedLines() throws IOException {
+        try (ConversionServer server = new ConversionServer(0, 0);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLinePort())) {
+            server.start();
+
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)
+            );
+            OutputStream out = socket.getOutputStream();
+
+            // a request answered on its own
+            out.write("1\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            assertEquals("ONE DOLLAR", reader.readLine());
+
+            // many requests sent before reading any answer
+            StringBuilder requests = new StringBuilder();
+            for (int i = 0; i < 1000; ++i)
+                requests.append(i).append(".5\r\n");
+
+            out.write(requests.toString().getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            for (int i = 0; i < 1000; ++i)
+                assertEquals(ConvertNumbersToWords.convertNumbersToWords(i + ".5"), reader.readLine());
+
+            socket.shutdownOutput();
+            assertNull(reader.readLine());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package irsan.winarto.console;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import irsan.winarto.solution.ConvertNumbersToWords;
+
+
+class CsvColumnConverterTests {
+    private static String convert(String csv, CsvColumnConverter converter) throws IOException {
+        Path in = Files.createTempFile("amounts", ".csv");
+        Path out = Files.createTempFile("words", ".csv");
+
+        try {
+            Files.write(in, csv.getBytes(StandardCharsets.US_ASCII));
+
+            try (FileChannel inChannel = FileChannel.open(in, StandardOpenOption.READ);
+                 FileChannel outChannel = FileChannel.open(out, StandardOpenOption.WRITE)) {
+                converter.convert(inChannel, outChannel);
+            }
+
+            return new String(Files.readAllBytes(out), StandardCharsets.US_ASCII);
+        } finally {
+            Files.delete(in);
+            Files.delete(out);
+        }
+    }
+
+    @Test
+    void testAppendsWordsColumn() throws IOException {
+        String csv = "id,amount,note\r\n" +
+                     "INV-7,9011.5,PAID\r\n" +
+                     "INV-8,\"1.01\",\"a, b\"\r\n" +
+                     "INV-9,12x,\n" +
+                     "INV-10";
+
+        String expected = "id,amount,note,\"WORDS\"\r\n" +
+                          "INV-7,9011.5,PAID,\"NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS\"\r\n" +
+                          "INV-8,\"1.01\",\"a, b\",\"ONE DOLLAR AND ONE CENT\"\r\n" +
+                          "INV-9,12x,,\"Error: numberString contains an invalid character x\"\n" +
+                          "INV-10,\"Error: numberString must not be an empty string\"";
+
+        assertEquals(expected, convert(csv, new CsvColumnConverter(1, true, 1 << 20, 2)));
+    }
+
+    @Test
+    void testChunksSmallerThanLinesKeepRowOrder() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+
+        for (int i = 0; i < 2000; ++i) {
+            String amount = i + "." + (i % 100);
+
+            csv.append(i).append(',').append(amount).append('\n');
+            expected.append(i).append(',').append(amount).append(",\"")
+                    .append(ConvertNumbersToWords.convertNumbersToWords(amount)).append("\"\n");
+        }
+
+        assertEquals(expected.toString(), convert(csv.toString(), new CsvColumnConverter(1, false, 7, 4)));
+        assertEquals(expected.toString(), convert(csv.toString(), new CsvColumnConverter(1, false, 4096, 3)));
+    }
+}
@@ -0,0 +1,213 @@
+package irsan.winarto.console;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import irsan.winarto.solution.ConvertNumbersToWords;
+
+
+class LineConverterTests {
+    private static String convert(LineConverter.Format format, String... numberStrings) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LineConverter converter = new LineConverter(format, out);
+
+        for (String numberString : numberStrings)
+            converter.convert(numberString);
+
+        converter.flush();
+
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String convertAll(String input, char separator, LineConverter converter,
+                                     ByteArrayOutputStream out) throws IOException {
+        out.reset();
+        converter.convertAll(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), (byte) separator);
+
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String convertAll(String input, char separator) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        return convertAll(input, separator, new LineConverter(LineConverter.Format.PLAIN, out), out);
+    }
+
+    @Test
+    void testFormats() throws IOException {
+        assertEquals("ONE DOLLAR AND ONE CENT\n" +
+                     "Error: numberString contains an invalid character x\n",
+                     convert(LineConverter.Format.PLAIN, "1.01", "12x"));
+
+        assertEquals("1.01\tONE DOLLAR AND ONE CENT\n" +
+                     "12x\tError: numberString contains an invalid character x\n",
+                     convert(LineConverter.Format.TSV, "1.01", "12x"));
+
+        assertEquals("{\"input\":\"1.01\",\"words\":\"ONE DOLLAR AND ONE CENT\"}\n" +
+                     "{\"input\":\"12x\",\"error\":\"numberString contains an invalid character x\"}\n",
+                     convert(LineConverter.Format.JSON, "1.01", "12x"));
+    }
+
+    @Test
+    void testEscaping() throws IOException {
+        assertEquals("1\\t\\\\\tError: numberString contains an invalid character \\t\n",
+                     convert(LineConverter.Format.TSV, "1\t\\"));
+
+        assertEquals("{\"input\":\"1\\\"\\u000a\",\"error\":\"numberString contains an invalid character \\\"\"}\n",
+                     convert(LineConverter.Format.JSON, "1\"\n"));
+    }
+
+    @Test
+    void testOneRecordPerLine() throws IOException {
+        String expected = "ONE DOLLAR AND ONE CENT\n" +
+                          "Error: numberString must not be an empty string\n" +
+                          "Error: numberString contains an invalid character x\n" +
+                          "NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS\n";
+
+        assertEquals(expected, convertAll("1.01\r\n\n12x\n9011.5", '\n'));
+        assertEquals(expected, convertAll("1.01\r\n\n12x\n9011.5\n", '\n'));
+        assertEquals(expected, convertAll("1.01\0\00012x\0009011.5\0", '\0'));
+        assertEquals("", convertAll("", '\n'));
+
+        // newlines are part of a NUL-separated number-string
+        assertEquals("Error: numberString contains an invalid character \n\n", convertAll("1\n", '\0'));
+    }
+
+    @Test
+    void testInputLargerThanBuffers() throws IOException {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+
+        // every output line is much longer than its input line
+        while (expected.length() < 3 * LineConverter.BUFFER_SIZE) {
+            String number = "9999999999999999999999999999999999999999999999999999999999999999." + input.length() % 100;
+
+            input.append(number).append('\n');
+            expected.append(ConvertNumbersToWords.convertNumbersToWords(number)).append('\n');
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LineConverter converter = new LineConverter(LineConverter.Format.PLAIN, out);
+
+        assertEquals(expected.toString(), convertAll(input.toString(), '\n', converter, out));
+        // the converter can be reused
+        assertEquals("ZERO DOLLAR\n", convertAll("0\n", '\n', converter, out));
+    }
+
+    @Test
+    void testOverLongLine() throws IOException {
+        String tooLong = "1." + "0".repeat(LineConverter.MAX_RECORD_LENGTH);
+        String error = "Error: numberString must not be longer than " + LineConverter.MAX_RECORD_LENGTH + " bytes\n";
+
+        // the line is skipped to its separator and the next line is read
+        assertEquals(error + "ONE DOLLAR\n", convertAll(tooLong + "\r\n1\n", '\n'));
+        assertEquals(error, convertAll(tooLong, '\n'));
+
+        // the longest line kept is still converted
+        String longest = "1." + "0".repeat(LineConverter.MAX_RECORD_LENGTH - 2);
+        assertEquals("ONE DOLLAR\n", convertAll(longest + "\n", '\n'));
+
+        // a line far longer than the buffers takes no more memory
+        StringBuilder huge = new StringBuilder(3 * LineConverter.BUFFER_SIZE + 1);
+        while (huge.length() < 3 * LineConverter.BUFFER_SIZE)
+            huge.append('9');
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LineConverter converter = new LineConverter(LineConverter.Format.TSV, out);
+
+        assertEquals(1, converter.convertAll(
+            new ByteArrayInputStream(huge.append('\n').toString().getBytes(StandardCharsets.US_ASCII)), (byte) '\n'
+        ));
+        assertEquals("9".repeat(LineConverter.MAX_RECORD_LENGTH) + "\t" + error, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testChannels() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel outChannel = Channels.newChannel(out);
+        byte[] bytes = "1.01\n12x\n".getBytes(StandardCharsets.UTF_8);
+
+        // a pipe delivering one line per read
+        ReadableByteChannel lineAtATime = new ReadableByteChannel() {
+            private int position;
+
+            @Override
+            public int read(ByteBuffer buffer) {
+                if (position == bytes.length)
+                    return -1;
+
+                // the line of the short read before is already answered
+                if (position > 0)
+                    assertEquals("ONE DOLLAR AND ONE CENT\n", out.toString(StandardCharsets.UTF_8));
+
+                int start = position;
+                while (bytes[position++] != '\n')
+                    ;
+
+                buffer.put(bytes, start, position - start);
+
+                return position - start;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        LineConverter converter = new LineConverter(LineConverter.Format.PLAIN, outChannel);
+
+        assertEquals(1, converter.convertAll(lineAtATime, (byte) '\n'));
+        assertEquals("ONE DOLLAR AND ONE CENT\n" +
+                     "Error: numberString contains an invalid character x\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testNonAsciiInvalidCharacter() throws IOException {
+        // the same character whether it is read or passed
+        String expected = "Error: numberString contains an invalid character é\n";
+
+        assertEquals(expected, convertAll("1é\n", '\n'));
+        assertEquals(expected, convert(LineConverter.Format.PLAIN, "1é"));
+
+        // split between two reads
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] bytes = "1é\n".getBytes(StandardCharsets.UTF_8);
+        InputStream oneByteAtATime = new ByteArrayInputStream(bytes) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        };
+
+        new LineConverter(LineConverter.Format.PLAIN, out).convertAll(oneByteAtATime, (byte) '\n');
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+
+        // only the first half of a surrogate pair is reported, which cannot
+        // be encoded on its own
+        assertEquals("Error: numberString contains an invalid character ?\n", convertAll("1\uD83D\uDCB0", '\n'));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LineConverter(null, new ByteArrayOutputStream()));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new LineConverter(LineConverter.Format.PLAIN, (OutputStream) null));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new LineConverter(LineConverter.Format.PLAIN, (WritableByteChannel) null));
+    }
+}
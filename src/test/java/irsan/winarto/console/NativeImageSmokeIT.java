@@ -0,0 +1,111 @@
+package irsan.winarto.console;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Compares the native executable with NumberToWords.jar on the
+ * non-interactive path, e.g. "NumberToWords 123.45", as shell loops call it:
+ * both must print the same words, and the native executable must start
+ * faster. The peak resident set size is reported as well if GNU time is
+ * installed as /usr/bin/time.
+ *
+ * Only the native profile runs it, after building both; it is skipped
+ * without the native executable.
+ */
+class NativeImageSmokeIT {
+    private final static int RUN_COUNT = 20;
+    private final static String AMOUNT = "123.45";
+    private final static String EXPECTED = "ONE HUNDRED AND TWENTY-THREE DOLLARS AND FORTY-FIVE CENTS";
+
+    private final static Path GNU_TIME = Paths.get("/usr/bin/time");
+
+    /**
+     * The median wall-clock time and peak resident set size of the runs of
+     * one command.
+     */
+    private final static class Measurement {
+        private double medianMillis;
+        // in kilobytes, or -1 if unknown
+        private long maxResidentKilobytes = -1;
+    }
+
+    @Test
+    void testStartUpAgainstJar() throws IOException, InterruptedException {
+        String executable = System.getProperty("native.executable");
+        String jar = System.getProperty("jar.file");
+
+        assumeTrue(executable != null && Files.isExecutable(Paths.get(executable)),
+                   "the native executable has not been built");
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+        Measurement nativeImage = measure(executable, AMOUNT);
+        Measurement jvm = measure(java, "-jar", jar, AMOUNT);
+
+        System.out.printf("native: %.1f ms, %s%n", nativeImage.medianMillis, format(nativeImage));
+        System.out.printf("jar:    %.1f ms, %s%n", jvm.medianMillis, format(jvm));
+
+        assertTrue(nativeImage.medianMillis < jvm.medianMillis,
+                   "the native executable should start faster than the JAR");
+    }
+
+    private static String format(Measurement measurement) {
+        if (measurement.maxResidentKilobytes < 0)
+            return "RSS unknown";
+
+        return "max RSS " + measurement.maxResidentKilobytes / 1024 + " MiB";
+    }
+
+    /**
+     * Runs command RUN_COUNT times, checking its output every time.
+     */
+    private static Measurement measure(String... command) throws IOException, InterruptedException {
+        boolean hasGnuTime = Files.isExecutable(GNU_TIME);
+
+        List<String> line = new ArrayList<>();
+        if (hasGnuTime)
+            // the peak resident set size in kilobytes on the last line of
+            // stderr
+            line.addAll(Arrays.asList(GNU_TIME.toString(), "-f", "%M"));
+        line.addAll(Arrays.asList(command));
+
+        Measurement result = new Measurement();
+        double[] millis = new double[RUN_COUNT];
+
+        for (int i = 0; i < RUN_COUNT; ++i) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(line).start();
+
+            String out = new String(process.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+            String err = new String(process.getErrorStream().readAllBytes(), StandardCharsets.US_ASCII);
+
+            assertEquals(0, process.waitFor(), err);
+            millis[i] = (System.nanoTime() - start) / 1e6;
+
+            assertEquals(EXPECTED, out.trim());
+
+            if (hasGnuTime) {
+                String[] lines = err.trim().split("\n");
+                result.maxResidentKilobytes = Math.max(result.maxResidentKilobytes,
+                                                       Long.parseLong(lines[lines.length - 1].trim()));
+            }
+        }
+
+        Arrays.sort(millis);
+        result.medianMillis = millis[RUN_COUNT / 2];
+
+        return result;
+    }
+}
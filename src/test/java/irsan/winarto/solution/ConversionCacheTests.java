@@ -0,0 +1,48 @@
+package irsan.winarto.solution;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ConversionCacheTests {
+    @Test
+    void testNormalizedAmountsShareOneEntry() {
+        ConversionCache cache = new ConversionCache(16);
+
+        assertEquals("FIVE DOLLARS", cache.convertNumbersToWords("5"));
+        assertEquals("FIVE DOLLARS", cache.convertNumbersToWords("5.0"));
+        assertEquals("FIVE DOLLARS", cache.convertNumbersToWords("5.001"));
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    void testMatchesUncachedTranslation() {
+        ConversionCache cache = new ConversionCache(8);
+        String[] numbers = { "0", "1.01", "9011.5", "1001.01499", "1005000", "0.995", "1", "9011.50" };
+
+        for (int round = 0; round < 3; ++round)
+            for (String number : numbers)
+                assertEquals(ConvertNumbersToWords.convertNumbersToWords(number), cache.convertNumbersToWords(number));
+    }
+
+    @Test
+    void testCapacityIsBoundedAndEvicts() {
+        ConversionCache cache = new ConversionCache(5);
+
+        assertEquals(8, cache.getCapacity());
+
+        for (int i = 0; i < 100; ++i)
+            cache.convertNumbersToWords(Integer.toString(i));
+
+        assertEquals(100, cache.getMissCount());
+        assertTrue(cache.getEvictionCount() >= 100 - cache.getCapacity());
+    }
+
+    @Test
+    void testThrowInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConversionCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new ConversionCache(16).convertNumbersToWords("1..2"));
+    }
+}
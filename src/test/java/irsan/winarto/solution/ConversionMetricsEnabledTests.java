@@ -0,0 +1,97 @@
+package irsan.winarto.solution;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+
+// run by its own surefire execution, in a JVM started with
+// -Dirsan.winarto.metrics=true
+class ConversionMetricsEnabledTests {
+    @BeforeAll
+    static void checkEnabled() {
+        assertTrue(ConversionMetrics.ENABLED, "the JVM must be started with -Dirsan.winarto.metrics=true");
+    }
+
+    @Test
+    void testEveryEntryPointIsRecorded() {
+        LenientParser lenient = new LenientParser('.', ",", "$");
+        ConversionCache cache = new ConversionCache(16);
+        byte[] bytes = "1.5".getBytes(StandardCharsets.US_ASCII);
+        StringBuilder out = new StringBuilder();
+
+        Runnable[] conversions = {
+            () -> ConvertNumbersToWords.convertNumbersToWords("1.5"),
+            () -> ConvertNumbersToWords.convertNumbersToWords("1.5", out),
+            () -> ConvertNumbersToWords.convertNumbersToWords("1.5", EnglishLanguage.AMERICAN),
+            () -> ConvertNumbersToWords.convertNumbersToWords("1.5", EnglishLanguage.AMERICAN, out),
+            () -> ConvertNumbersToWords.convertNumbersToWords("1.5", Currency.JPY),
+            () -> ConvertNumbersToWords.convertNumbersToWords("1.5", EnglishLanguage.AMERICAN, Currency.GBP, out),
+            () -> ConvertNumbersToWords.convertSignedNumbersToWords("-1.5"),
+            () -> ConvertNumbersToWords.convertSignedNumbersToWords("-1.5", NegativeWording.CREDIT, out),
+            () -> ConvertNumbersToWords.tryConvertNumbersToWords("1.5"),
+            () -> ConvertNumbersToWords.tryConvertNumbersToWords("1.5", out),
+            () -> ConvertNumbersToWords.convertNumbersToWords(ByteBuffer.wrap(bytes), ByteBuffer.allocate(64)),
+            () -> ConvertNumbersToWords.convertNumbersToWords(bytes, 0, bytes.length, new byte[64], 0),
+            () -> ConvertNumbersToWords.convertAll(new CharSequence[] { "1.5" }, new String[1], null),
+            () -> ConvertNumbersToWords.wordLength("1.5"),
+            () -> ConvertNumbersToWords.convertNumbersToWords(1, 50),
+            () -> ConvertNumbersToWords.convertNumbersToWords(150),
+            () -> ConvertNumbersToWords.convertNumbersToWords(1, 50, out),
+            () -> ConvertNumbersToWords.convertNumbersToWords(new BigDecimal("1.5")),
+            () -> ConvertNumbersToWords.convertNumbersToWords(BigInteger.ONE),
+            () -> ConvertNumbersToWords.convertNumbersToWords(new BigDecimal("1.5"), out),
+            () -> lenient.convertNumbersToWords("$1,000.5"),
+            () -> lenient.convertNumbersToWords("$1,000.5", out),
+            () -> lenient.tryConvertNumbersToWords("$1,000.5", out),
+            () -> lenient.convertSignedNumbersToWords("-$1,000.5", NegativeWording.MINUS, out),
+            () -> cache.convertNumbersToWords("1.5"),
+        };
+
+        for (Runnable conversion : conversions) {
+            ConversionMetrics.reset();
+            conversion.run();
+
+            ConversionMetrics.Snapshot snapshot = ConversionMetrics.snapshot();
+
+            assertEquals(1, snapshot.getCalls());
+            assertEquals(1, snapshot.getLatencyCount());
+        }
+
+    }
+
+    @Test
+    void testRejectionsAreRecordedByReason() {
+        Runnable[] rejections = {
+            () -> ConvertNumbersToWords.convertNumbersToWords("1x"),
+            () -> ConvertNumbersToWords.convertNumbersToWords(-1, 0),
+            () -> ConvertNumbersToWords.convertNumbersToWords(1, 100),
+            () -> ConvertNumbersToWords.convertNumbersToWords(-1),
+            () -> ConvertNumbersToWords.convertNumbersToWords(new BigDecimal("-0.5")),
+            () -> ConvertNumbersToWords.convertNumbersToWords((BigInteger) null),
+            () -> ConvertNumbersToWords.convertNumbersToWords(BigInteger.TEN.pow(64)),
+        };
+        String[] reasons = { "INVALID_CHAR", "OUT_OF_RANGE", "OUT_OF_RANGE", "OUT_OF_RANGE", "OUT_OF_RANGE", "NULL",
+                             "TOO_LONG" };
+
+        for (int i = 0; i < rejections.length; ++i) {
+            ConversionMetrics.reset();
+            assertThrows(IllegalArgumentException.class, rejections[i]::run);
+
+            ConversionMetrics.Snapshot snapshot = ConversionMetrics.snapshot();
+
+            // a rejection is a call without a latency
+            assertEquals(1, snapshot.getCalls(), reasons[i]);
+            assertEquals(1, snapshot.getFailures(), reasons[i]);
+            assertEquals(1L, snapshot.getFailuresByReason().get(reasons[i]), reasons[i]);
+            assertEquals(0, snapshot.getLatencyCount(), reasons[i]);
+        }
+
+        ConversionMetrics.reset();
+    }
+}
@@ -0,0 +1,88 @@
+package irsan.winarto.solution;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+
+class ConversionMetricsTests {
+    @Test
+    void testSnapshotCountsByReasonAndLength() {
+        ConversionMetrics.reset();
+
+        ConversionMetrics.recordCall(0);
+        ConversionMetrics.recordCall(5);
+        ConversionMetrics.recordCall(6);
+        ConversionMetrics.recordCall(1000);
+        ConversionMetrics.recordFailure(ConversionError.EMPTY);
+        ConversionMetrics.recordFailure(ConversionError.INVALID_CHAR);
+        ConversionMetrics.recordFailure(ConversionError.INVALID_CHAR);
+
+        ConversionMetrics.Snapshot snapshot = ConversionMetrics.snapshot();
+
+        assertEquals(4, snapshot.getCalls());
+        assertEquals(3, snapshot.getFailures());
+        assertEquals(2L, snapshot.getFailuresByReason().get("INVALID_CHAR"));
+        assertEquals(0L, snapshot.getFailuresByReason().get("TOO_LONG"));
+
+        Map<String, Long> lengths = snapshot.getInputLengthDistribution();
+        assertEquals(1L, lengths.get("0"));
+        assertEquals(2L, lengths.get("4-7"));
+        assertEquals(1L, lengths.get("128+"));
+
+        ConversionMetrics.reset();
+        assertEquals(0, ConversionMetrics.snapshot().getCalls());
+    }
+
+    @Test
+    void testLatencyPercentilesWithinBucketError() {
+        ConversionMetrics.reset();
+
+        for (long nanos = 1; nanos <= 1000; ++nanos)
+            ConversionMetrics.recordLatency(nanos * 1000);
+
+        ConversionMetrics.Snapshot snapshot = ConversionMetrics.snapshot();
+
+        assertEquals(1000, snapshot.getLatencyCount());
+
+        long median = snapshot.getLatencyNanosAtPercentile(50);
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.125, "median " + median);
+
+        long max = snapshot.getLatencyNanosAtPercentile(100);
+        assertTrue(max >= 1_000_000 && max <= 1_000_000 * 1.125, "max " + max);
+
+        ConversionMetrics.reset();
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        assertFalse(ConversionMetrics.ENABLED);
+
+        ConversionMetrics.reset();
+
+        ConvertNumbersToWords.convertNumbersToWords("1.5");
+        ConvertNumbersToWords.tryConvertNumbersToWords("1x");
+        assertThrows(IllegalArgumentException.class, () -> ConvertNumbersToWords.convertNumbersToWords(-1, 0));
+
+        ConversionMetrics.Snapshot snapshot = ConversionMetrics.snapshot();
+
+        assertEquals(0, snapshot.getCalls());
+        assertEquals(0, snapshot.getFailures());
+        assertEquals(0, snapshot.getLatencyCount());
+    }
+
+    @Test
+    void testHistogramBucketsCoverEveryValue() {
+        long[] values = { 0, 1, 7, 8, 9, 15, 16, 1000, 123456789, Long.MAX_VALUE };
+
+        for (long value : values) {
+            int index = LatencyHistogram.getBucketIndex(value);
+
+            assertTrue(value <= LatencyHistogram.getBucketUpperBound(index));
+            assertTrue(index == 0 || value > LatencyHistogram.getBucketUpperBound(index - 1));
+        }
+
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.getBucketIndex(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,296 @@
+package irsan.winarto.solution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+
+class ConversionProcessorTests {
+    /**
+     * A publisher pushed by the test, recording what it is asked for.
+     */
+    private static class TestPublisher implements Flow.Subscription {
+        private final List<Long> requests = new ArrayList<>();
+        private Flow.Subscriber<? super CharSequence> subscriber;
+        private boolean isCancelled;
+
+        void subscribe(Flow.Subscriber<? super CharSequence> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(this);
+        }
+
+        long getRequested() {
+            long result = 0;
+
+            for (long n : requests)
+                result += n;
+
+            return result;
+        }
+
+        @Override
+        public void request(long n) {
+            requests.add(n);
+        }
+
+        @Override
+        public void cancel() {
+            isCancelled = true;
+        }
+    }
+
+    /**
+     * A subscriber recording every signal, requesting initialRequest at
+     * first.
+     */
+    private static class TestSubscriber implements Flow.Subscriber<ConversionResult> {
+        private final long initialRequest;
+        private final List<ConversionResult> results = new ArrayList<>();
+        private final List<Thread> threads = new ArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private boolean isComplete;
+        private Throwable error;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+
+            if (initialRequest > 0)
+                subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(ConversionResult result) {
+            results.add(result);
+            threads.add(Thread.currentThread());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            isComplete = true;
+            done.countDown();
+        }
+    }
+
+    @Test
+    void testInvalidNumberStringsAreResults() throws InterruptedException {
+        ConversionProcessor processor = new ConversionProcessor();
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+
+        processor.subscribe(subscriber);
+
+        try (SubmissionPublisher<CharSequence> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+
+            publisher.submit("1.01");
+            publisher.submit("12x");
+            publisher.submit(new StringBuilder("9011.5"));
+        }
+
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+        assertTrue(subscriber.isComplete);
+        assertNull(subscriber.error);
+
+        assertEquals(3, subscriber.results.size());
+        assertEquals("ONE DOLLAR AND ONE CENT", subscriber.results.get(0).getWords());
+        assertEquals(ConversionError.INVALID_CHAR, subscriber.results.get(1).getError());
+        assertEquals(2, subscriber.results.get(1).getErrorPosition());
+        assertEquals("NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS", subscriber.results.get(2).getWords());
+    }
+
+    @Test
+    void testBackpressure() {
+        ConversionProcessor processor = new ConversionProcessor(4, null);
+        TestPublisher publisher = new TestPublisher();
+        TestSubscriber subscriber = new TestSubscriber(3);
+
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+
+        // no more is asked for than the subscriber wants
+        assertEquals(List.of(3L), publisher.requests);
+
+        for (int i = 0; i < 3; ++i)
+            publisher.subscriber.onNext(Integer.toString(i));
+
+        assertEquals(3, subscriber.results.size());
+        assertEquals(3, publisher.getRequested());
+
+        // a large demand is asked for in batches
+        subscriber.subscription.request(10);
+        assertEquals(List.of(3L, 4L), publisher.requests);
+
+        for (int i = 0; i < 4; ++i)
+            publisher.subscriber.onNext(Integer.toString(i));
+
+        assertEquals(List.of(3L, 4L, 4L), publisher.requests);
+        assertEquals(7, subscriber.results.size());
+
+        for (int i = 0; i < 4; ++i)
+            publisher.subscriber.onNext(Integer.toString(i));
+
+        // the last 2 of the 10
+        assertEquals(List.of(3L, 4L, 4L, 2L), publisher.requests);
+        assertEquals(11, subscriber.results.size());
+
+        publisher.subscriber.onNext("5");
+        publisher.subscriber.onNext("6");
+        publisher.subscriber.onComplete();
+
+        assertEquals(13, subscriber.results.size());
+        assertEquals(13, publisher.getRequested());
+        assertTrue(subscriber.isComplete);
+    }
+
+    @Test
+    void testBatchSizes() {
+        // without an executor, a number-string is emitted within its onNext
+        ConversionProcessor processor = new ConversionProcessor(4, null);
+        TestPublisher publisher = new TestPublisher();
+        TestSubscriber subscriber = new TestSubscriber(8);
+
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+
+        for (int i = 0; i < 8; ++i) {
+            publisher.subscriber.onNext(Integer.toString(i));
+            assertEquals(i + 1, subscriber.results.size());
+        }
+
+        // while only the upstream is asked in batches
+        assertEquals(List.of(4L, 4L), publisher.requests);
+
+        // with an executor, what is received before a drain runs is one batch
+        List<Runnable> tasks = new ArrayList<>();
+        processor = new ConversionProcessor(4, tasks::add);
+        publisher = new TestPublisher();
+        subscriber = new TestSubscriber(8);
+
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+        tasks.remove(0).run();
+        assertEquals(List.of(4L), publisher.requests);
+
+        for (int i = 0; i < 4; ++i)
+            publisher.subscriber.onNext(Integer.toString(i));
+
+        assertEquals(1, tasks.size());
+        assertEquals(0, subscriber.results.size());
+
+        tasks.remove(0).run();
+        assertEquals(4, subscriber.results.size());
+        assertEquals(List.of(4L, 4L), publisher.requests);
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void testCompletionWaitsForReceivedNumberStrings() {
+        ConversionProcessor processor = new ConversionProcessor(8, null);
+        TestPublisher publisher = new TestPublisher();
+        TestSubscriber subscriber = new TestSubscriber(2);
+
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+
+        publisher.subscriber.onNext("1");
+        subscriber.subscription.request(1);
+        publisher.subscriber.onNext("2");
+        publisher.subscriber.onError(new IllegalStateException("upstream"));
+
+        assertEquals(2, subscriber.results.size());
+        assertEquals("upstream", subscriber.error.getMessage());
+    }
+
+    @Test
+    void testExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            ConversionProcessor processor = new ConversionProcessor(16, executor);
+            TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+
+            processor.subscribe(subscriber);
+
+            try (SubmissionPublisher<CharSequence> publisher = new SubmissionPublisher<>()) {
+                publisher.subscribe(processor);
+
+                for (int i = 0; i < 1000; ++i)
+                    publisher.submit(Integer.toString(i));
+            }
+
+            assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+            assertTrue(subscriber.isComplete);
+            assertEquals(1000, subscriber.results.size());
+
+            for (int i = 0; i < 1000; ++i)
+                assertEquals(ConvertNumbersToWords.convertNumbersToWords(Integer.toString(i)),
+                             subscriber.results.get(i).getWords());
+
+            Thread executorThread = subscriber.threads.get(0);
+            for (Thread thread : subscriber.threads)
+                assertSame(executorThread, thread);
+            assertNotSame(Thread.currentThread(), executorThread);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testCancel() {
+        ConversionProcessor processor = new ConversionProcessor();
+        TestPublisher publisher = new TestPublisher();
+        TestSubscriber subscriber = new TestSubscriber(1);
+
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+
+        subscriber.subscription.cancel();
+        assertTrue(publisher.isCancelled);
+
+        publisher.subscriber.onNext("1");
+        assertEquals(0, subscriber.results.size());
+    }
+
+    @Test
+    void testInvalidUse() {
+        ConversionProcessor processor = new ConversionProcessor();
+        TestPublisher publisher = new TestPublisher();
+        TestSubscriber subscriber = new TestSubscriber(0);
+
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+
+        // a second subscriber is rejected
+        TestSubscriber second = new TestSubscriber(1);
+        processor.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+
+        // a non-positive request fails the stream and cancels the upstream
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(publisher.isCancelled);
+
+        assertThrows(IllegalArgumentException.class, () -> new ConversionProcessor(0, null));
+        assertThrows(NullPointerException.class, () -> processor.onNext(null));
+    }
+}
@@ -1,6 +1,15 @@
 package irsan.winarto.solution;
 
 import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static irsan.winarto.solution.ConvertNumbersToWords.*;
 
@@ -473,9 +482,232 @@ class ConvertNumbersToWordsTests {
         assertEquals(expected, translation);
     }
 
+    @Test
+    void testCentsRoundingUpCarriesIntoDollars() {
+        assertEquals("ONE DOLLAR", convertNumbersToWords("0.995"));
+        assertEquals("ONE THOUSAND DOLLARS", convertNumbersToWords("999.9951"));
+        assertEquals("ONE MILLION DOLLARS", convertNumbersToWords("999999.995"));
+        assertEquals(
+            "TEN VIGINTILLION DOLLARS",
+            convertNumbersToWords("9999999999999999999999999999999999999999999999999999999999999999.999")
+        );
+    }
+
+    @Test
+    void testPrimitivesMatchNumberString() {
+        long[] dollars = { 0, 1, 2, 19, 100, 1001, 9011, 1005000, 1000000, 7561994011L, Long.MAX_VALUE };
+        int[] cents = { 0, 1, 9, 10, 50, 99 };
+
+        for (long d : dollars) {
+            for (int c : cents) {
+                String expected = convertNumbersToWords(d + "." + (c < 10 ? "0" : "") + c);
+
+                assertEquals(expected, convertNumbersToWords(d, c));
+
+                if (d <= (Long.MAX_VALUE - c) / 100)
+                    assertEquals(expected, convertNumbersToWords(d * 100 + c));
+            }
+        }
+    }
+
+    @Test
+    void testThrowPrimitivesOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords(1, 100));
+        assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords(-1L));
+    }
+
+    @Test
+    void testBigNumbersMatchNumberString() {
+        String[] numbers = {
+            "0",
+            "0.004999",
+            "0.995",
+            "1.01",
+            "9011.5",
+            "92233720368547758.07",
+            "9223372036854775807.995",
+            "1000000000000000000000000000000000000000000000000000000000000001.000000000",
+            "2487267846699413640462183779868608065710618353263324659995014327.718",
+            "9999999999999999999999999999999999999999999999999999999999999999.995",
+        };
+
+        for (String number : numbers) {
+            assertEquals(convertNumbersToWords(number), convertNumbersToWords(new BigDecimal(number)));
+            assertEquals(
+                convertNumbersToWords(number.split("\\.")[0]),
+                convertNumbersToWords(new BigInteger(number.split("\\.")[0]))
+            );
+        }
+    }
+
+    @Test
+    void testThrowBigNumbersOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords((BigDecimal) null));
+        assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords(new BigDecimal("-0.01")));
+        assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords(BigInteger.TEN.pow(64)));
+    }
+
+    @Test
+    void testByteBuffersMatchNumberString() {
+        String[] numbers = {
+            "0", "1.01", "9011.5", "1005000", "0.995",
+            "2487267846699413640462183779868608065710618353263324659995014327.718"
+        };
+
+        for (ByteBuffer out : new ByteBuffer[] { ByteBuffer.allocate(1024), ByteBuffer.allocateDirect(1024) }) {
+            for (String number : numbers) {
+                ByteBuffer in = ByteBuffer.allocateDirect(number.length() + 2);
+                in.put((byte) ' ').put(number.getBytes(StandardCharsets.US_ASCII)).put((byte) ' ').flip();
+                in.position(1).limit(number.length() + 1);
+
+                out.clear().position(3);
+
+                int length = convertNumbersToWords(in, out);
+
+                assertEquals(in.limit(), in.position());
+                assertEquals(3 + length, out.position());
+
+                byte[] words = new byte[length];
+                out.flip().position(3);
+                out.get(words);
+
+                assertEquals(convertNumbersToWords(number), new String(words, StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    @Test
+    void testByteArraysMatchNumberString() {
+        byte[] in = "x9011.5x".getBytes(StandardCharsets.US_ASCII);
+        byte[] out = new byte[64];
+
+        int length = convertNumbersToWords(in, 1, 6, out, 2);
+
+        assertEquals(
+            "NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS",
+            new String(out, 2, length, StandardCharsets.US_ASCII)
+        );
+    }
+
+    @Test
+    void testThrowBytesInvalidOrTooSmall() {
+        ByteBuffer in = ByteBuffer.wrap("1234".getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer out = ByteBuffer.allocate(8);
+
+        assertThrows(BufferOverflowException.class, () -> convertNumbersToWords(in, out));
+        assertEquals(0, in.position());
+        assertEquals(0, out.position());
+
+        Exception e = assertThrows(
+            IllegalArgumentException.class,
+            () -> convertNumbersToWords(ByteBuffer.wrap(new byte[] { '1', (byte) 0xE9 }), ByteBuffer.allocate(64))
+        );
+        assertEquals("numberString contains an invalid character \u00e9", e.getMessage());
+
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> convertNumbersToWords(new byte[] { '1' }, 0, 1, new byte[4], 0)
+        );
+    }
+
+    @Test
+    void testWordLengthIsExact() {
+        String[] numbers = {
+            "0", "1", "1.01", "9011.5", "1005000", "0.995", "7561994011.199166869908",
+            "9999999999999999999999999999999999999999999999999999999999999999.999"
+        };
+
+        for (String number : numbers)
+            assertEquals(convertNumbersToWords(number).length(), wordLength(number));
+
+        assertThrows(IllegalArgumentException.class, () -> wordLength("1.2.3"));
+    }
+
+    @Test
+    void testConvertAllReportsInvalidEntriesPerIndex() {
+        String[] numbers = { "1.01", "12a", "9011.5", null, "0.995" };
+        String[] results = new String[numbers.length];
+        String[] errors = new String[numbers.length];
+
+        assertEquals(2, convertAll(numbers, results, errors));
+
+        assertArrayEquals(
+            new String[] {
+                "ONE DOLLAR AND ONE CENT", null, "NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS", null, "ONE DOLLAR"
+            },
+            results
+        );
+        assertArrayEquals(
+            new String[] {
+                null, "numberString contains an invalid character a", null, "numberString must not be null", null
+            },
+            errors
+        );
+
+        String[] listResults = new String[numbers.length];
+        assertEquals(2, convertAll(Arrays.asList(numbers), listResults, null));
+        assertArrayEquals(results, listResults);
+    }
+
+    @Test
+    void testConvertAllParallelMatchesSequential() {
+        String[] numbers = new String[10000];
+        for (int i = 0; i < numbers.length; ++i)
+            numbers[i] = i % 97 == 0 ? i + "x" : i + "." + (i % 1000);
+
+        String[] expectedResults = new String[numbers.length];
+        String[] expectedErrors = new String[numbers.length];
+        int expectedErrorCount = convertAll(numbers, expectedResults, expectedErrors);
+
+        String[] results = new String[numbers.length];
+        String[] errors = new String[numbers.length];
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            assertEquals(expectedErrorCount, convertAllParallel(numbers, results, errors, pool, 64));
+        } finally {
+            pool.shutdown();
+        }
+
+        assertArrayEquals(expectedResults, results);
+        assertArrayEquals(expectedErrors, errors);
+
+        assertEquals(expectedErrorCount, convertAllParallel(numbers, results, null));
+        assertArrayEquals(expectedResults, results);
+    }
+
+    @Test
+    void testThrowConvertAllResultsTooShort() {
+        assertThrows(IllegalArgumentException.class, () -> convertAll(new String[] { "1" }, new String[0], null));
+    }
+
+    @Test
+    void testAppendToStringBuilder() {
+        StringBuilder out = new StringBuilder("Pay: ");
+
+        convertNumbersToWords(new StringBuilder("9011.5"), out);
+
+        assertEquals("Pay: NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS", out.toString());
+
+        out.setLength(0);
+        convertNumbersToWords("1005000.01", out);
+
+        assertEquals("ONE MILLION AND FIVE THOUSAND DOLLARS AND ONE CENT", out.toString());
+    }
+
+    @Test
+    void testAppendLeavesBufferUntouchedOnThrow() {
+        StringBuilder out = new StringBuilder("unchanged");
+
+        assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords("12a", out));
+        assertEquals("unchanged", out.toString());
+    }
+
     @Test
     void testThrowMustNotBeNull() {
-        Exception e = assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords(null));
+        Exception e = assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords((String) null));
         assertEquals("numberString must not be null", e.getMessage());
     }
 
@@ -513,6 +745,12 @@ class ConvertNumbersToWordsTests {
         assertEquals("numberString contains an invalid character e",e.getMessage());
     }
 
+    @Test
+    void testThrowMustNotContainNonAsciiDigits() {
+        Exception e = assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords("12\u0663"));
+        assertEquals("numberString contains an invalid character \u0663",e.getMessage());
+    }
+
     @Test
     void testThrowMustNotContainMultipleDecimalPoints() {
         Exception e = assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords("398842..3823"));
@@ -527,4 +765,112 @@ class ConvertNumbersToWordsTests {
         );
         assertEquals("the number of digits of the integer part must not exceed " + getMaxIntPartLength(), e.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTryConvertValid() {
+        ConversionResult result = tryConvertNumbersToWords("9011.5");
+
+        assertTrue(result.isValid());
+        assertEquals("NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS", result.getWords());
+        assertNull(result.getError());
+        assertEquals(-1, result.getErrorPosition());
+        assertNull(result.getErrorMessage());
+    }
+
+    @Test
+    void testTryConvertReportsReasonAndPosition() {
+        String[] numberStrings = { null, "", ".5", "12.", "007", "12a4", "1.2.3" };
+        ConversionError[] reasons = {
+            ConversionError.NULL, ConversionError.EMPTY, ConversionError.LEADING_DOT, ConversionError.TRAILING_DOT,
+            ConversionError.LEADING_ZERO, ConversionError.INVALID_CHAR, ConversionError.MULTIPLE_DOTS,
+        };
+        int[] positions = { 0, 0, 0, 2, 0, 2, 3 };
+
+        for (int i = 0; i < numberStrings.length; ++i) {
+            ConversionResult result = tryConvertNumbersToWords(numberStrings[i]);
+
+            assertFalse(result.isValid());
+            assertNull(result.getWords());
+            assertEquals(reasons[i], result.getError());
+            assertEquals(positions[i], result.getErrorPosition());
+        }
+    }
+
+    @Test
+    void testTryConvertMessagesMatchExceptions() {
+        String[] numberStrings = { "", "12.", "00", "128938e2", "398842..3823", "1".repeat(getMaxIntPartLength() + 1) };
+
+        for (String numberString : numberStrings) {
+            Exception e = assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords(numberString));
+
+            assertEquals(e.getMessage(), tryConvertNumbersToWords(numberString).getErrorMessage());
+        }
+
+        assertEquals(getMaxIntPartLength(), tryConvertNumbersToWords("1".repeat(70)).getErrorPosition());
+    }
+
+    @Test
+    void testTryConvertToStringBuilder() {
+        StringBuilder out = new StringBuilder("> ");
+
+        assertNull(tryConvertNumbersToWords("1.01", out));
+        assertEquals("> ONE DOLLAR AND ONE CENT", out.toString());
+
+        assertEquals(ConversionError.INVALID_CHAR, tryConvertNumbersToWords("1,000", out));
+        assertEquals(1, getLastErrorPosition());
+        assertEquals("> ONE DOLLAR AND ONE CENT", out.toString());
+    }
+
+    @Test
+    void testSignedAmounts() {
+        String expected = "MINUS ONE HUNDRED AND TWENTY-FIVE DOLLARS AND FORTY CENTS";
+
+        assertEquals(expected, convertSignedNumbersToWords("-125.40"));
+        assertEquals(expected, convertSignedNumbersToWords("(125.40)"));
+        assertEquals(expected, convertSignedNumbersToWords("125.40CR"));
+        assertEquals("ONE HUNDRED AND TWENTY-FIVE DOLLARS AND FORTY CENTS", convertSignedNumbersToWords("125.40"));
+        assertEquals("ZERO DOLLAR", convertSignedNumbersToWords("-0.00"));
+        assertEquals("ZERO DOLLAR", convertSignedNumbersToWords("(0.001)"));
+    }
+
+    @Test
+    void testSignedAmountsWithWording() {
+        StringBuilder out = new StringBuilder();
+
+        convertSignedNumbersToWords("125.40CR", NegativeWording.CREDIT, out);
+        assertEquals("ONE HUNDRED AND TWENTY-FIVE DOLLARS AND FORTY CENTS CREDIT", out.toString());
+
+        out.setLength(0);
+        convertSignedNumbersToWords(
+            "-2.5", GermanLanguage.INSTANCE, GermanLanguage.EUR, new NegativeWording("MINUS ", ""), out
+        );
+        assertEquals("MINUS ZWEI EURO UND FÜNFZIG CENT", out.toString());
+    }
+
+    @Test
+    void testInvalidSignedAmounts() {
+        String[] numberStrings = { "-", "()", "(125.40", "--1", "-(1)", "1-", "-0123", "CR" };
+        String[] messages = {
+            "numberString must not be an empty string",
+            "numberString must not be an empty string",
+            "numberString contains an invalid character (",
+            "numberString contains an invalid character -",
+            "numberString contains an invalid character (",
+            "numberString contains an invalid character -",
+            "numberString must not be prefixed with a zero or zeroes, unless it is 0 or decimals such as 0.00 or " +
+            "or 0.0809 or 0.3847382, etc",
+            "numberString contains an invalid character C",
+        };
+
+        for (int i = 0; i < numberStrings.length; ++i) {
+            final String NUMBER_STRING = numberStrings[i];
+            Exception e = assertThrows(
+                IllegalArgumentException.class, () -> convertSignedNumbersToWords(NUMBER_STRING), NUMBER_STRING
+            );
+            assertEquals(messages[i], e.getMessage(), NUMBER_STRING);
+        }
+
+        // an unsigned conversion still rejects a sign
+        assertThrows(IllegalArgumentException.class, () -> convertNumbersToWords("-1"));
+    }
+}
@@ -0,0 +1,56 @@
+package irsan.winarto.solution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static irsan.winarto.solution.ConvertNumbersToWords.*;
+
+
+class CurrencyTests {
+    @Test
+    void testIrregularPlurals() {
+        assertEquals("ONE POUND AND ONE PENNY", convertNumbersToWords("1.01", Currency.GBP));
+        assertEquals("TWO POUNDS AND FIFTY PENCE", convertNumbersToWords("2.5", Currency.GBP));
+        assertEquals("ZERO POUND AND NINETY-NINE PENCE", convertNumbersToWords("0.99", Currency.GBP));
+    }
+
+    @Test
+    void testNoMinorDigits() {
+        assertEquals("ONE THOUSAND YEN", convertNumbersToWords("1000", Currency.JPY));
+        assertEquals("ONE THOUSAND YEN", convertNumbersToWords("1000.49", Currency.JPY));
+        assertEquals("ONE THOUSAND AND ONE YEN", convertNumbersToWords("1000.5", Currency.JPY));
+        assertEquals("ONE THOUSAND YEN", convertNumbersToWords("999.9", Currency.JPY));
+    }
+
+    @Test
+    void testThreeMinorDigits() {
+        assertEquals("ONE DINAR AND ONE FIL", convertNumbersToWords("1.001", Currency.KWD));
+        assertEquals("TWELVE DINARS AND FIVE HUNDRED FILS", convertNumbersToWords("12.5", Currency.KWD));
+        assertEquals("TWELVE DINARS AND TWO HUNDRED AND FORTY-SIX FILS", convertNumbersToWords("12.2455", Currency.KWD));
+        assertEquals("THIRTEEN DINARS", convertNumbersToWords("12.9995", Currency.KWD));
+    }
+
+    @Test
+    void testCurrencyInOtherLanguages() {
+        assertEquals(
+            "ZWEI EURO UND FÜNFZIG CENT", convertNumbersToWords("2.5", GermanLanguage.INSTANCE, GermanLanguage.EUR)
+        );
+        assertEquals("UN MILLION DE DOLLARS", convertNumbersToWords("1000000", FrenchLanguage.INSTANCE, Currency.USD));
+
+        StringBuilder out = new StringBuilder();
+        convertNumbersToWords("2000000.01", FrenchLanguage.INSTANCE, FrenchLanguage.EUR, out);
+        assertEquals("DEUX MILLIONS D'EUROS ET UN CENTIME", out.toString());
+    }
+
+    @Test
+    void testDefaultCurrencyIsUnchanged() {
+        assertEquals(convertNumbersToWords("9011.5"), convertNumbersToWords("9011.5", Currency.AUD));
+        assertEquals(convertNumbersToWords("0.995"), convertNumbersToWords("0.995", Currency.USD));
+    }
+
+    @Test
+    void testInvalidMinorDigits() {
+        assertThrows(IllegalArgumentException.class, () -> new Currency("XXX", "A", "B", "C", "D", 4));
+        assertThrows(IllegalArgumentException.class, () -> new Currency(null, "A", "B", "C", "D", 2));
+    }
+}
@@ -0,0 +1,147 @@
+package irsan.winarto.solution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static irsan.winarto.solution.ConvertNumbersToWords.*;
+
+
+class LanguageTests {
+    @Test
+    void testAustralianIsTheDefault() {
+        String[] numberStrings = { "0", "1.01", "9011.5", "1000000", "123456789.999", "1000000000001" };
+
+        for (String numberString : numberStrings)
+            assertEquals(
+                convertNumbersToWords(numberString),
+                convertNumbersToWords(numberString, EnglishLanguage.AUSTRALIAN)
+            );
+    }
+
+    @Test
+    void testAmerican() {
+        assertEquals(
+            "ONE THOUSAND TWO HUNDRED FIVE DOLLARS AND FIFTY CENTS",
+            convertNumbersToWords("1205.5", EnglishLanguage.AMERICAN)
+        );
+        assertEquals(
+            "NINE THOUSAND ELEVEN DOLLARS",
+            convertNumbersToWords("9011", EnglishLanguage.AMERICAN)
+        );
+    }
+
+    @Test
+    void testBritishLongScale() {
+        Language language = EnglishLanguage.BRITISH_LONG_SCALE;
+
+        assertEquals("ONE THOUSAND MILLION DOLLARS", convertNumbersToWords("1000000000", language));
+        assertEquals("ONE BILLION DOLLARS", convertNumbersToWords("1000000000000", language));
+        assertEquals(
+            "ONE BILLION, TWO HUNDRED AND THIRTY-FOUR THOUSAND FIVE HUNDRED AND SIXTY-SEVEN MILLION DOLLARS",
+            convertNumbersToWords("1234567000000", language)
+        );
+        assertEquals("ONE THOUSAND AND ONE BILLION DOLLARS", convertNumbersToWords("1001000000000000", language));
+        assertEquals(
+            "ONE THOUSAND MILLION, FIVE THOUSAND AND ONE DOLLARS",
+            convertNumbersToWords("1000005001", language)
+        );
+    }
+
+    @Test
+    void testGerman() {
+        Language language = GermanLanguage.INSTANCE;
+
+        assertEquals("NULL DOLLAR", convertNumbersToWords("0", language));
+        assertEquals("EIN DOLLAR UND EIN CENT", convertNumbersToWords("1.01", language));
+        assertEquals("EINTAUSENDEINHUNDERTEIN DOLLAR", convertNumbersToWords("1101", language));
+        assertEquals("EINE MILLION DOLLAR", convertNumbersToWords("1000000", language));
+        assertEquals(
+            "ZWEI MILLIONEN FÜNFHUNDERTEINTAUSENDEINUNDZWANZIG DOLLAR UND EIN CENT",
+            convertNumbersToWords("2501021.01", language)
+        );
+        assertEquals("DREI MILLIARDEN DREISSIG DOLLAR", convertNumbersToWords("3000000030", language));
+    }
+
+    @Test
+    void testFrench() {
+        Language language = FrenchLanguage.INSTANCE;
+
+        assertEquals("ZÉRO DOLLAR", convertNumbersToWords("0", language));
+        assertEquals("MILLE UN DOLLARS", convertNumbersToWords("1001", language));
+        assertEquals("DEUX CENT MILLE DOLLARS", convertNumbersToWords("200000", language));
+        assertEquals("QUATRE-VINGT MILLE QUATRE-VINGTS DOLLARS", convertNumbersToWords("80080", language));
+        assertEquals("UN MILLION DE DOLLARS", convertNumbersToWords("1000000", language));
+        assertEquals(
+            "DEUX MILLIONS DEUX CENT QUATRE-VINGTS DOLLARS ET SOIXANTE ET ONZE CENTS",
+            convertNumbersToWords("2000280.71", language)
+        );
+        assertEquals("QUATRE-VINGT-ONZE DOLLARS ET VINGT ET UN CENTS", convertNumbersToWords("91.21", language));
+    }
+
+    // a language writing the digits of every group, in currency
+    private static Language newDigitsLanguage(Currency currency) {
+        return new Language() {
+            @Override
+            protected String getTripleWords(int value, int scaleIndex) {
+                return Integer.toString(value);
+            }
+
+            @Override
+            protected String getScaleWords(int scaleIndex, boolean isPlural, boolean isNextGroupZero) {
+                return "e" + 3 * scaleIndex;
+            }
+
+            @Override
+            protected String getGroupSeparator(int scaleIndex, boolean isNextGroupZero,
+                                               boolean isBeforeLastSmallGroup) {
+                return "+";
+            }
+
+            @Override
+            protected String getMinorSeparator() {
+                return " ";
+            }
+
+            @Override
+            public Currency getDefaultCurrency() {
+                return currency;
+            }
+        };
+    }
+
+    @Test
+    void testCustomLanguage() {
+        Language digits = newDigitsLanguage(new Currency("XTS", "$", "$", "c", "c", 2));
+
+        StringBuilder out = new StringBuilder();
+        convertNumbersToWords("5000012.34", digits, out);
+
+        assertEquals("5e6+12 $ 34 c", out.toString());
+    }
+
+    @Test
+    void testDefaultCurrencyMinorDigits() {
+        // rounded to the minor digits of the default currency as when the
+        // currency is passed
+        Language yen = newDigitsLanguage(Currency.JPY);
+
+        assertEquals("2 YEN", convertNumbersToWords("1.50", yen));
+        assertEquals(convertNumbersToWords("1.50", yen, Currency.JPY), convertNumbersToWords("1.50", yen));
+
+        StringBuilder out = new StringBuilder();
+        convertNumbersToWords("1.50", yen, out);
+        assertEquals("2 YEN", out.toString());
+
+        Language dinar = newDigitsLanguage(Currency.KWD);
+
+        assertEquals("1 DINAR 5 FILS", convertNumbersToWords("1.0054", dinar));
+        assertEquals("1.005", new WordsParser(dinar, Currency.KWD).parseWords(convertNumbersToWords("1.0054", dinar)));
+    }
+
+    @Test
+    void testInvalidNumberString() {
+        assertThrows(
+            IllegalArgumentException.class, () -> convertNumbersToWords("1..2", GermanLanguage.INSTANCE)
+        );
+    }
+}
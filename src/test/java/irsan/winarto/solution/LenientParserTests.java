@@ -0,0 +1,110 @@
+package irsan.winarto.solution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class LenientParserTests {
+    @Test
+    void testGroupedAmounts() {
+        String expected = ConvertNumbersToWords.convertNumbersToWords("1234567.89");
+
+        assertEquals(expected, LenientParser.ENGLISH.convertNumbersToWords("$1,234,567.89"));
+        assertEquals(expected, LenientParser.ENGLISH.convertNumbersToWords("  US$ 1 234 567.89 "));
+        assertEquals(expected, LenientParser.CONTINENTAL.convertNumbersToWords("1 234 567,89"));
+        assertEquals(expected, LenientParser.CONTINENTAL.convertNumbersToWords("€1.234.567,89"));
+        assertEquals(expected, LenientParser.CONTINENTAL.convertNumbersToWords("1 234 567,89"));
+    }
+
+    @Test
+    void testUngroupedAmounts() {
+        assertEquals(
+            "ONE THOUSAND, TWO HUNDRED AND THIRTY-FOUR DOLLARS AND FIFTY CENTS",
+            LenientParser.ENGLISH.convertNumbersToWords("AUD 1234.5")
+        );
+        assertEquals("ZERO DOLLAR AND FIFTY CENTS", LenientParser.ENGLISH.convertNumbersToWords(".5"));
+        assertEquals("FIVE DOLLARS", LenientParser.ENGLISH.convertNumbersToWords("005."));
+        assertEquals("ONE DOLLAR", LenientParser.ENGLISH.convertNumbersToWords("0.995"));
+    }
+
+    @Test
+    void testCurrency() {
+        StringBuilder out = new StringBuilder();
+
+        LenientParser.ENGLISH.convertNumbersToWords("¥1,000.5", EnglishLanguage.AUSTRALIAN, Currency.JPY, out);
+
+        assertEquals("ONE THOUSAND AND ONE YEN", out.toString());
+    }
+
+    @Test
+    void testMisplacedSeparators() {
+        String[] numberStrings = { ",123", "1,23", "1234,567", "1,2345", "1,,234", "1,234,56.7", "12,34" };
+        int[] positions = { 0, 4, 4, 5, 2, 8, 5 };
+
+        for (int i = 0; i < numberStrings.length; ++i) {
+            StringBuilder out = new StringBuilder();
+
+            assertEquals(
+                ConversionError.MISPLACED_SEPARATOR,
+                LenientParser.ENGLISH.tryConvertNumbersToWords(numberStrings[i], out),
+                numberStrings[i]
+            );
+            assertEquals(positions[i], ConvertNumbersToWords.getLastErrorPosition(), numberStrings[i]);
+            assertEquals(0, out.length());
+        }
+    }
+
+    @Test
+    void testInvalidAmounts() {
+        StringBuilder out = new StringBuilder();
+
+        assertEquals(ConversionError.NULL, LenientParser.ENGLISH.tryConvertNumbersToWords(null, out));
+        assertEquals(ConversionError.EMPTY, LenientParser.ENGLISH.tryConvertNumbersToWords(" $ ", out));
+        assertEquals(ConversionError.EMPTY, LenientParser.ENGLISH.tryConvertNumbersToWords(".", out));
+        assertEquals(ConversionError.INVALID_CHAR, LenientParser.ENGLISH.tryConvertNumbersToWords("12.3,4", out));
+        assertEquals(ConversionError.INVALID_CHAR, LenientParser.ENGLISH.tryConvertNumbersToWords("1 2x", out));
+        assertEquals(ConversionError.MULTIPLE_DOTS, LenientParser.ENGLISH.tryConvertNumbersToWords("1.2.3", out));
+        assertEquals(
+            ConversionError.TOO_LONG, LenientParser.ENGLISH.tryConvertNumbersToWords("1".repeat(65), out)
+        );
+
+        Exception e = assertThrows(
+            IllegalArgumentException.class, () -> LenientParser.ENGLISH.convertNumbersToWords("1,23")
+        );
+        assertEquals("numberString contains a misplaced grouping separator at 4", e.getMessage());
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new LenientParser(',', ",."));
+        assertThrows(IllegalArgumentException.class, () -> new LenientParser('.', ",", ""));
+    }
+
+    @Test
+    void testSignedAmounts() {
+        String[] numberStrings = { "-$1,234.50", "$-1,234.50", "($1,234.50)", " ( 1,234.50 ) ", "1,234.50 CR" };
+
+        for (String numberString : numberStrings) {
+            StringBuilder out = new StringBuilder();
+
+            LenientParser.ENGLISH.convertSignedNumbersToWords(numberString, NegativeWording.CREDIT, out);
+
+            assertEquals(
+                "ONE THOUSAND, TWO HUNDRED AND THIRTY-FOUR DOLLARS AND FIFTY CENTS CREDIT", out.toString(), numberString
+            );
+        }
+
+        StringBuilder out = new StringBuilder();
+        LenientParser.ENGLISH.convertSignedNumbersToWords("$1,234.50", NegativeWording.CREDIT, out);
+        assertEquals("ONE THOUSAND, TWO HUNDRED AND THIRTY-FOUR DOLLARS AND FIFTY CENTS", out.toString());
+
+        assertEquals(
+            ConversionError.INVALID_CHAR, LenientParser.ENGLISH.tryConvertNumbersToWords("-$1,234.50", new StringBuilder())
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> LenientParser.ENGLISH.convertSignedNumbersToWords("(1", NegativeWording.MINUS, new StringBuilder())
+        );
+    }
+}
@@ -0,0 +1,108 @@
+package irsan.winarto.solution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+
+class PrecompiledWordTablesTests {
+    private static void assertTablesEqual(WordTable expected, WordTable actual) {
+        assertEquals(expected.currency, actual.currency);
+        assertArrayEquals(expected.fragments, actual.fragments);
+        assertArrayEquals(expected.fragmentBytes, actual.fragmentBytes);
+
+        for (int index = 0; index < ParsedAmount.MAX_GROUP_COUNT; ++index) {
+            // a triple of "000" is never written above the ones
+            for (int value = index == 0 ? 0 : 1; value < 1000; ++value)
+                assertEquals(expected.triples[index][value], actual.triples[index][value]);
+
+            assertArrayEquals(expected.scales[index], actual.scales[index]);
+            assertArrayEquals(expected.separators[index], actual.separators[index]);
+        }
+
+        assertEquals(expected.minorSeparator, actual.minorSeparator);
+        assertArrayEquals(expected.majorUnits, actual.majorUnits);
+        assertArrayEquals(expected.minorUnits, actual.minorUnits);
+    }
+
+    private static byte[] write(WordTable table) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            table.write(out);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void testBuiltInTables() {
+        // written by the build before the tests run
+        Language[] languages = {
+            EnglishLanguage.AUSTRALIAN, EnglishLanguage.AMERICAN, EnglishLanguage.BRITISH_LONG_SCALE,
+            new EnglishLanguage(false, true)
+        };
+
+        for (Language language : languages) {
+            WordTable expected = new WordTable(language, language.getDefaultCurrency());
+            WordTable actual = PrecompiledWordTables.load(language);
+
+            if (language.getPrecompiledName().equals("english-american-long"))
+                assertNull(actual);
+            else
+                assertTablesEqual(expected, actual);
+        }
+
+        assertNull(PrecompiledWordTables.load(GermanLanguage.INSTANCE));
+    }
+
+    @Test
+    void testFingerprint() throws IOException {
+        Language language = EnglishLanguage.AUSTRALIAN;
+        WordTable expected = new WordTable(language, language.getDefaultCurrency());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(PrecompiledWordTables.fingerprint(language));
+            expected.write(out);
+        }
+
+        byte[] file = bytes.toByteArray();
+        assertTablesEqual(expected, PrecompiledWordTables.read(new ByteArrayInputStream(file), language));
+
+        // tables compiled from other classes, e.g. before the language was
+        // edited, are not read
+        file[7] ^= 1;
+        assertNull(PrecompiledWordTables.read(new ByteArrayInputStream(file), language));
+
+        // every language class has its own fingerprint
+        assertNotEquals(PrecompiledWordTables.fingerprint(language),
+                        PrecompiledWordTables.fingerprint(FrenchLanguage.INSTANCE));
+        assertEquals(PrecompiledWordTables.fingerprint(language),
+                     PrecompiledWordTables.fingerprint(EnglishLanguage.AMERICAN));
+    }
+
+    @Test
+    void testWriteAndRead() throws IOException {
+        WordTable expected = new WordTable(FrenchLanguage.INSTANCE, FrenchLanguage.EUR);
+        byte[] bytes = write(expected);
+
+        assertTablesEqual(expected, new WordTable(new DataInputStream(new ByteArrayInputStream(bytes)),
+                                                  FrenchLanguage.EUR));
+
+        // tables of another currency or layout are not read
+        assertThrows(IOException.class,
+                     () -> new WordTable(new DataInputStream(new ByteArrayInputStream(bytes)), Currency.EUR));
+
+        bytes[0] ^= 1;
+        assertThrows(IOException.class,
+                     () -> new WordTable(new DataInputStream(new ByteArrayInputStream(bytes)), FrenchLanguage.EUR));
+    }
+}
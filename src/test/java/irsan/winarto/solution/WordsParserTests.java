@@ -0,0 +1,135 @@
+package irsan.winarto.solution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+
+class WordsParserTests {
+    @Test
+    void testParseWords() {
+        WordsParser parser = WordsParser.AUSTRALIAN;
+
+        assertEquals("9011.50", parser.parseWords("NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS"));
+        assertEquals(
+            "105021.50",
+            parser.parseWords("ONE HUNDRED AND FIVE THOUSAND AND TWENTY-ONE DOLLARS AND FIFTY CENTS")
+        );
+        assertEquals("1", parser.parseWords("ONE DOLLAR"));
+        assertEquals("0", parser.parseWords("ZERO DOLLAR"));
+        assertEquals("0.01", parser.parseWords("ZERO DOLLAR AND ONE CENT"));
+        assertEquals("1000000", parser.parseWords("ONE MILLION DOLLARS"));
+        assertEquals(
+            "1234567",
+            parser.parseWords("ONE MILLION, TWO HUNDRED AND THIRTY-FOUR THOUSAND, FIVE HUNDRED AND SIXTY-SEVEN DOLLARS")
+        );
+        assertEquals("1" + "0".repeat(63), parser.parseWords("ONE VIGINTILLION DOLLARS"));
+
+        StringBuilder out = new StringBuilder("> ");
+        parser.parseWords("TWO DOLLARS", out);
+        assertEquals("> 2", out.toString());
+    }
+
+    @Test
+    void testParseWordsToNumbers() {
+        WordsParser parser = WordsParser.AUSTRALIAN;
+
+        assertEquals(new BigDecimal("9011.50"),
+                     parser.parseWordsToBigDecimal("NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS"));
+        assertEquals(901150, parser.parseWordsToMinorUnits("NINE THOUSAND AND ELEVEN DOLLARS AND FIFTY CENTS"));
+        assertEquals(new BigDecimal("0.00"), parser.parseWordsToBigDecimal("ZERO DOLLAR"));
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> parser.parseWordsToMinorUnits("ONE HUNDRED QUADRILLION DOLLARS"));
+    }
+
+    @Test
+    void testRoundTrip() {
+        Random random = new Random(7);
+
+        Language[] languages = {
+            EnglishLanguage.AUSTRALIAN, EnglishLanguage.AMERICAN, EnglishLanguage.BRITISH_LONG_SCALE,
+            GermanLanguage.INSTANCE, FrenchLanguage.INSTANCE, EnglishLanguage.AUSTRALIAN, EnglishLanguage.AUSTRALIAN
+        };
+        Currency[] currencies = {
+            Currency.AUD, Currency.USD, Currency.GBP, GermanLanguage.EUR, FrenchLanguage.EUR, Currency.JPY,
+            Currency.KWD
+        };
+
+        for (int i = 0; i < languages.length; ++i) {
+            WordsParser parser = new WordsParser(languages[i], currencies[i]);
+
+            for (int n = 0; n < 2000; ++n) {
+                String numberString = generate(random, currencies[i].getMinorDigits());
+                String words = ConvertNumbersToWords.convertNumbersToWords(numberString, languages[i], currencies[i]);
+                String parsed = parser.parseWords(words);
+
+                assertEquals(words, ConvertNumbersToWords.convertNumbersToWords(parsed, languages[i], currencies[i]));
+                assertEquals(new BigDecimal(numberString).stripTrailingZeros(),
+                             new BigDecimal(parsed).stripTrailingZeros());
+            }
+        }
+    }
+
+    // an amount with up to 64 digits, many of whose triples are "000" or
+    // small, and whose fractional part has at most minorDigits digits
+    private static String generate(Random random, int minorDigits) {
+        StringBuilder result = new StringBuilder();
+
+        result.append(1 + random.nextInt(999));
+
+        int tripleCount = random.nextInt(21);
+        for (int i = 0; i < tripleCount; ++i) {
+            int triple = random.nextInt(4) == 0 ? 0 : random.nextInt(3) == 0 ? random.nextInt(100) : random.nextInt(1000);
+            result.append(String.format("%03d", triple));
+        }
+
+        if (random.nextInt(8) == 0)
+            return random.nextInt(2) + (minorDigits > 0 ? ".5" : "");
+
+        if (minorDigits > 0 && random.nextBoolean()) {
+            result.append('.');
+
+            for (int i = 0; i < minorDigits; ++i)
+                result.append(random.nextInt(10));
+        }
+
+        return result.toString();
+    }
+
+    @Test
+    void testInvalidWords() {
+        WordsParser parser = WordsParser.AUSTRALIAN;
+        StringBuilder out = new StringBuilder();
+
+        // the positions of the first character not matching any translation
+        assertEquals(0, parser.tryParseWords("", out));
+        assertEquals(0, parser.tryParseWords("one dollar", out));
+        assertEquals(10, parser.tryParseWords("ONE DOLLARS", out));
+        assertEquals(10, parser.tryParseWords("TWO DOLLAR", out));
+        assertEquals(11, parser.tryParseWords("ONE HUNDRED ONE DOLLARS", out));
+        assertEquals(14, parser.tryParseWords("ONE THOUSAND, AND ONE DOLLARS", out));
+        assertEquals(10, parser.tryParseWords("ONE DOLLAR AND ZERO CENTS", out));
+        assertEquals(10, parser.tryParseWords("ONE DOLLAR ", out));
+        assertEquals(3, parser.tryParseWords("ONE  DOLLAR", out));
+        assertEquals(11, parser.tryParseWords("ONE MILLION TWO BILLION DOLLARS", out));
+        assertEquals(4, parser.tryParseWords("ONE MILLION, TWO BILLION DOLLARS", out));
+        assertEquals(0, parser.tryParseWords("ZERO THOUSAND DOLLARS", out));
+        assertEquals(23, parser.tryParseWords("ONE DOLLAR AND ONE CENT AND", out));
+        assertEquals("", out.toString());
+
+        assertEquals(-1, parser.tryParseWords("ONE DOLLAR", out));
+        assertEquals("1", out.toString());
+
+        IllegalArgumentException e =
+            assertThrows(IllegalArgumentException.class, () -> parser.parseWords("ONE DOLLARS"));
+        assertEquals("words do not match a translation at 10", e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parseWords(null));
+        assertThrows(IllegalArgumentException.class, () -> new WordsParser(null, Currency.AUD));
+        assertThrows(IllegalArgumentException.class, () -> new WordsParser(EnglishLanguage.AUSTRALIAN, null));
+    }
+}